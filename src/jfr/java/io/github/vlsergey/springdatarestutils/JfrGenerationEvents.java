@@ -0,0 +1,100 @@
+package io.github.vlsergey.springdatarestutils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder implementation of {@link GenerationEvents}. Compiled
+ * for Java 11+ and loaded reflectively by {@link GenerationEvents#load()}.
+ */
+class JfrGenerationEvents implements GenerationEvents {
+
+    private static final String CATEGORY = "Spring Data REST Utils";
+
+    private static final String EVENT_NAME_PREFIX = "io.github.vlsergey.springdatarestutils.";
+
+    @Category(CATEGORY)
+    @Description("Mapping of class to component schema")
+    @Label("Map Entity")
+    @Name(EVENT_NAME_PREFIX + "MapEntity")
+    static class MapEntityEvent extends Event {
+	@Label("Class")
+	Class<?> cls;
+
+	@Label("Mode")
+	String mode;
+
+	@Label("Request Type")
+	String requestType;
+    }
+
+    @Category(CATEGORY)
+    @Description("Phase of specification generation")
+    @Label("Generation Phase")
+    @Name(EVENT_NAME_PREFIX + "Phase")
+    static class PhaseEvent extends Event {
+	@Label("Name")
+	String name;
+    }
+
+    @Category(CATEGORY)
+    @Description("Generation of paths of repository")
+    @Label("Repository Paths")
+    @Name(EVENT_NAME_PREFIX + "RepositoryPaths")
+    static class RepositoryPathsEvent extends Event {
+	@Label("Domain Type")
+	Class<?> domainType;
+
+	@Label("Repository Interface")
+	Class<?> repositoryInterface;
+    }
+
+    private static final EventType MAP_ENTITY = EventType.getEventType(MapEntityEvent.class);
+
+    private static final EventType PHASE = EventType.getEventType(PhaseEvent.class);
+
+    private static final EventType REPOSITORY_PATHS = EventType.getEventType(RepositoryPathsEvent.class);
+
+    private static Scope begin(final Event event) {
+	event.begin();
+	return event::commit;
+    }
+
+    @Override
+    public Scope mapEntity(final Class<?> cls, final ClassMappingMode mode, final RequestType requestType) {
+	if (!MAP_ENTITY.isEnabled()) {
+	    return Scope.NOOP;
+	}
+	final MapEntityEvent event = new MapEntityEvent();
+	event.cls = cls;
+	event.mode = mode.name();
+	event.requestType = requestType.name();
+	return begin(event);
+    }
+
+    @Override
+    public Scope phase(final String name) {
+	if (!PHASE.isEnabled()) {
+	    return Scope.NOOP;
+	}
+	final PhaseEvent event = new PhaseEvent();
+	event.name = name;
+	return begin(event);
+    }
+
+    @Override
+    public Scope repositoryPaths(final Class<?> repositoryInterface, final Class<?> domainType) {
+	if (!REPOSITORY_PATHS.isEnabled()) {
+	    return Scope.NOOP;
+	}
+	final RepositoryPathsEvent event = new RepositoryPathsEvent();
+	event.domainType = domainType;
+	event.repositoryInterface = repositoryInterface;
+	return begin(event);
+    }
+
+}
@@ -0,0 +1,137 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Triple;
+import org.springframework.data.rest.core.mapping.RepositoryDetectionStrategy.RepositoryDetectionStrategies;
+
+import io.github.vlsergey.springdatarestutils.CodebaseScannerFacade.ScanResult;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+/**
+ * Domain (package of test sources or synthetic domain generated by
+ * {@link SyntheticDomainGenerator}) prepared for benchmarks: scanned, with
+ * specification generated once the same way as {@link ToOpenApiActionImpl}
+ * does (but sequentially and without writing output).
+ */
+@Getter
+class BenchmarkDomain {
+
+    private static final String SYNTHETIC_PREFIX = "synthetic-";
+
+    static final String TEST_DOMAINS_PACKAGE = "io.github.vlsergey.springdatarestutils";
+
+    private final @NonNull String basePackage;
+
+    private final @NonNull ClassLoader classLoader;
+
+    /**
+     * Components of specification in order of generation
+     */
+    private final @NonNull List<Triple<Class<?>, ClassMappingMode, RequestType>> components = new ArrayList<>();
+
+    private final @NonNull CustomAnnotationsHelper customAnnotationsHelper;
+
+    private final @NonNull ExposedTypesIndex exposedTypesIndex;
+
+    /**
+     * Mapper that does not collect references, thus can be called repeatedly
+     */
+    private final @NonNull EntityToSchemaMapper mapper;
+
+    private final @NonNull OpenAPI model;
+
+    private final @NonNull ProjectionHelper projectionHelper;
+
+    private final @NonNull ClassToRefResolver refResolver;
+
+    private final @NonNull ScanResult scanResult;
+
+    private final @NonNull TaskProperties taskProperties;
+
+    /**
+     * @param domain name of subpackage of {@link #TEST_DOMAINS_PACKAGE}, like
+     *               {@code example}, or {@code synthetic-N} for synthetic
+     *               domain of N entities
+     */
+    @SneakyThrows
+    BenchmarkDomain(final @NonNull String domain) {
+	if (domain.startsWith(SYNTHETIC_PREFIX)) {
+	    final int entities = Integer.parseInt(domain.substring(SYNTHETIC_PREFIX.length()));
+	    final SyntheticDomainGenerator generator = SyntheticDomainGenerator.scaled(entities)
+		    .setBasePackage(TEST_DOMAINS_PACKAGE + ".synthetic" + entities);
+	    this.basePackage = generator.getBasePackage();
+	    this.classLoader = generator.compile(Files.createTempDirectory("synthetic-domain").toFile());
+	} else {
+	    this.basePackage = TEST_DOMAINS_PACKAGE + "." + domain;
+	    this.classLoader = Thread.currentThread().getContextClassLoader();
+	}
+	this.taskProperties = new TaskProperties().setBasePackage(basePackage);
+	this.scanResult = newScanner().scan(classLoader);
+	this.customAnnotationsHelper = new CustomAnnotationsHelper(taskProperties);
+	this.exposedTypesIndex = new ExposedTypesIndex(scanResult);
+	this.projectionHelper = new ProjectionHelper(scanResult);
+	this.refResolver = (cls, mode, requestType) -> ClassToRefResolver.generateName(taskProperties, cls, mode,
+		requestType);
+	this.mapper = newMapper(refResolver);
+	this.model = generate();
+    }
+
+    private @NonNull OpenAPI generate() {
+	final SchemaWorklist worklist = new SchemaWorklist();
+	final ClassToRefResolver collectingResolver = (cls, mode, requestType) -> {
+	    worklist.reference(cls, mode, requestType);
+	    return refResolver.getRefName(cls, mode, requestType);
+	};
+	final EntityToSchemaMapper collectingMapper = newMapper(collectingResolver);
+
+	final OpenAPI result = new OpenAPI().components(new Components()).paths(new Paths())
+		.info(new Info().title(basePackage).version("0.0.1-SNAPSHOT"));
+	newPathsGenerator(collectingResolver, collectingMapper, result).generate(scanResult.getRepositories(),
+		scanResult.getQueryMethodsCandidates());
+	worklist.drain(key -> collectingMapper.mapEntity(key.getLeft(), key.getMiddle(), key.getRight()),
+		(key, schema, references) -> {
+		    result.schema(refResolver.getRefName(key.getLeft(), key.getMiddle(), key.getRight()), schema);
+		    components.add(key);
+		}, null);
+
+	SchemaUtils.sortMapByKeys(result.getComponents().getSchemas());
+	SchemaUtils.sortMapByKeys(result.getPaths());
+	return result;
+    }
+
+    private @NonNull EntityToSchemaMapper newMapper(final @NonNull ClassToRefResolver resolver) {
+	return new EntityToSchemaMapper(resolver, customAnnotationsHelper, exposedTypesIndex, projectionHelper,
+		scanResult, new StandardSchemasProvider(taskProperties), taskProperties);
+    }
+
+    /**
+     * @param target specification to put generated paths and their parameters
+     *               into
+     */
+    @NonNull
+    PathsGenerator newPathsGenerator(final @NonNull OpenAPI target) {
+	return newPathsGenerator(refResolver, mapper, target);
+    }
+
+    private @NonNull PathsGenerator newPathsGenerator(final @NonNull ClassToRefResolver resolver,
+	    final @NonNull EntityToSchemaMapper schemaMapper, final @NonNull OpenAPI target) {
+	return new PathsGenerator(resolver, target.getComponents(), customAnnotationsHelper, exposedTypesIndex,
+		schemaMapper, target.getPaths(), projectionHelper, scanResult, taskProperties);
+    }
+
+    @NonNull
+    CodebaseScannerFacade newScanner() {
+	return new CodebaseScannerFacade(basePackage,
+		RepositoryDetectionStrategies.valueOf(taskProperties.getRepositoryDetectionStrategy()));
+    }
+
+}
@@ -0,0 +1,61 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Triple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Mapping of all components of domain that have specified mode and request
+ * type. Other combinations (like {@code WITH_PROJECTIONS:RESPONSE}) can be
+ * passed via {@code -p component=...}.
+ */
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({ "EXPOSED:CREATE", "EXPOSED:PATCH", "EXPOSED:RESPONSE", "EXPOSED:UPDATE", "LINKS:RESPONSE",
+	    "WITH_LINKS:RESPONSE" })
+    public String component;
+
+    @Param({ "example", "inheritance", "userprojectroles", "synthetic-1000" })
+    public String domain;
+
+    private List<Class<?>> classes;
+
+    private EntityToSchemaMapper mapper;
+
+    private ClassMappingMode mode;
+
+    private RequestType requestType;
+
+    @Benchmark
+    public void mapEntity(final Blackhole blackhole) {
+	for (Class<?> cls : classes) {
+	    blackhole.consume(mapper.mapEntity(cls, mode, requestType));
+	}
+    }
+
+    @Setup
+    public void setup() {
+	final String[] modeAndRequestType = component.split(":");
+	mode = ClassMappingMode.valueOf(modeAndRequestType[0]);
+	requestType = RequestType.valueOf(modeAndRequestType[1]);
+
+	final BenchmarkDomain benchmarkDomain = new BenchmarkDomain(domain);
+	mapper = benchmarkDomain.getMapper();
+	classes = benchmarkDomain.getComponents().stream()
+		.filter(key -> key.getMiddle() == mode && key.getRight() == requestType).map(Triple::getLeft)
+		.collect(toList());
+	if (classes.isEmpty()) {
+	    throw new IllegalStateException("No " + component + " components in domain " + domain);
+	}
+    }
+
+}
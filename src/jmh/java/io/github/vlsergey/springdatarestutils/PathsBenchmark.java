@@ -0,0 +1,38 @@
+package io.github.vlsergey.springdatarestutils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Paths;
+
+/**
+ * Generation of paths (with parameters and request and response references)
+ * for all repositories of domain
+ */
+@State(Scope.Benchmark)
+public class PathsBenchmark {
+
+    @Param({ "example", "inheritance", "userprojectroles", "synthetic-1000" })
+    public String domain;
+
+    private BenchmarkDomain benchmarkDomain;
+
+    @Benchmark
+    public OpenAPI generate() {
+	final OpenAPI target = new OpenAPI().components(new Components()).paths(new Paths());
+	benchmarkDomain.newPathsGenerator(target).generate(benchmarkDomain.getScanResult().getRepositories(),
+		benchmarkDomain.getScanResult().getQueryMethodsCandidates());
+	return target;
+    }
+
+    @Setup
+    public void setup() {
+	benchmarkDomain = new BenchmarkDomain(domain);
+    }
+
+}
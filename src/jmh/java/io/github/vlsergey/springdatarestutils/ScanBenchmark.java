@@ -0,0 +1,40 @@
+package io.github.vlsergey.springdatarestutils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.github.vlsergey.springdatarestutils.CodebaseScannerFacade.ScanResult;
+
+/**
+ * Classpath scan: building class index, loading repositories and projections,
+ * inheritance and query method candidates scans
+ */
+@State(Scope.Benchmark)
+public class ScanBenchmark {
+
+    @Param({ "example", "inheritance", "userprojectroles", "synthetic-1000" })
+    public String domain;
+
+    @Param({ "false", "true" })
+    public boolean parallelScan;
+
+    private ClassLoader classLoader;
+
+    private CodebaseScannerFacade scanner;
+
+    @Benchmark
+    public ScanResult scan() {
+	return scanner.scan(classLoader);
+    }
+
+    @Setup
+    public void setup() {
+	final BenchmarkDomain benchmarkDomain = new BenchmarkDomain(domain);
+	classLoader = benchmarkDomain.getClassLoader();
+	scanner = benchmarkDomain.newScanner().setParallelScan(parallelScan);
+    }
+
+}
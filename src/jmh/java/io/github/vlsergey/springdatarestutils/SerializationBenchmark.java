@@ -0,0 +1,35 @@
+package io.github.vlsergey.springdatarestutils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Serialization of complete specification of domain
+ */
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({ "example", "inheritance", "userprojectroles", "synthetic-1000" })
+    public String domain;
+
+    @Param({ "json", "yaml" })
+    public String format;
+
+    private OpenAPI model;
+
+    @Setup
+    public void setup() {
+	model = new BenchmarkDomain(domain).getModel();
+    }
+
+    @Benchmark
+    public String writeValueAsString() {
+	return SchemaUtils.writeValueAsString("json".equals(format), model);
+    }
+
+}
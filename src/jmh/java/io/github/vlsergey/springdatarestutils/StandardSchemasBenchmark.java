@@ -0,0 +1,62 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.commons.lang3.tuple.Triple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Lookup of standard schemas for types of all properties of domain
+ * components, with empty ({@code cold}) and filled ({@code warm}) cache of
+ * resolved types.
+ */
+@State(Scope.Benchmark)
+public class StandardSchemasBenchmark {
+
+    @Param({ "example", "inheritance", "userprojectroles", "synthetic-1000" })
+    public String domain;
+
+    private List<Class<?>> propertyTypes;
+
+    private TaskProperties taskProperties;
+
+    private StandardSchemasProvider warmProvider;
+
+    @Benchmark
+    public void cold(final Blackhole blackhole) {
+	lookupAll(new StandardSchemasProvider(taskProperties), blackhole);
+    }
+
+    private void lookupAll(final StandardSchemasProvider provider, final Blackhole blackhole) {
+	for (Class<?> propertyType : propertyTypes) {
+	    blackhole.consume(provider.getStandardSchemaSupplier(propertyType));
+	}
+    }
+
+    @Setup
+    public void setup() {
+	final BenchmarkDomain benchmarkDomain = new BenchmarkDomain(domain);
+	taskProperties = benchmarkDomain.getTaskProperties();
+	propertyTypes = benchmarkDomain.getComponents().stream().map(Triple::getLeft).distinct()
+		.filter(cls -> !cls.isArray() && !cls.isEnum() && !cls.isPrimitive())
+		.flatMap(cls -> PropertyModel.of(cls).stream()).map(PropertyModel::getPropertyType)
+		.filter(Objects::nonNull).collect(toList());
+
+	warmProvider = new StandardSchemasProvider(taskProperties);
+	propertyTypes.forEach(warmProvider::getStandardSchemaSupplier);
+    }
+
+    @Benchmark
+    public void warm(final Blackhole blackhole) {
+	lookupAll(warmProvider, blackhole);
+    }
+
+}
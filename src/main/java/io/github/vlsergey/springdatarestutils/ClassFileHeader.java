@@ -0,0 +1,51 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Facts about class that can be read from class file header without loading
+ * the class: name, direct supertypes and class-level runtime annotations.
+ */
+@AllArgsConstructor
+@Getter
+class ClassFileHeader {
+
+    private final int accessFlags;
+
+    /**
+     * Binary names of runtime-visible annotations present on class
+     */
+    private final @NonNull Set<String> annotations;
+
+    /**
+     * Binary names of directly implemented (extended) interfaces
+     */
+    private final @NonNull List<String> interfaces;
+
+    /**
+     * Binary name of class, like {@code java.util.Map$Entry}
+     */
+    private final @NonNull String name;
+
+    /**
+     * Binary name of super class, {@code null} for {@link Object}
+     */
+    private final @Nullable String superName;
+
+    boolean isAbstract() {
+	return Modifier.isAbstract(accessFlags);
+    }
+
+    boolean isInterface() {
+	return Modifier.isInterface(accessFlags);
+    }
+
+}
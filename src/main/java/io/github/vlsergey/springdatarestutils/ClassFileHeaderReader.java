@@ -0,0 +1,268 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import lombok.NonNull;
+
+/**
+ * Minimal class file parser. Reads only constant pool, access flags, super
+ * types, class-level {@code RuntimeVisibleAnnotations} attribute and names of
+ * enum constants.
+ *
+ * @see <a href=
+ *      "https://docs.oracle.com/javase/specs/jvms/se8/html/jvms-4.html">JVMS,
+ *      chapter 4</a>
+ */
+class ClassFileHeaderReader {
+
+    private static final int ACC_ENUM = 0x4000;
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private static final int TAG_UTF8 = 1;
+    private static final int TAG_INTEGER = 3;
+    private static final int TAG_FLOAT = 4;
+    private static final int TAG_LONG = 5;
+    private static final int TAG_DOUBLE = 6;
+    private static final int TAG_CLASS = 7;
+    private static final int TAG_STRING = 8;
+    private static final int TAG_FIELDREF = 9;
+    private static final int TAG_METHODREF = 10;
+    private static final int TAG_INTERFACE_METHODREF = 11;
+    private static final int TAG_NAME_AND_TYPE = 12;
+    private static final int TAG_METHOD_HANDLE = 15;
+    private static final int TAG_METHOD_TYPE = 16;
+    private static final int TAG_DYNAMIC = 17;
+    private static final int TAG_INVOKE_DYNAMIC = 18;
+    private static final int TAG_MODULE = 19;
+    private static final int TAG_PACKAGE = 20;
+
+    static @NonNull ClassFileHeader read(final @NonNull byte[] bytes) throws IOException {
+	return read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    private static @NonNull ClassFileHeader read(final @NonNull DataInputStream in) throws IOException {
+	final String[] utf8 = readConstantPool(in);
+
+	final int accessFlags = in.readUnsignedShort();
+	final String name = toBinaryName(utf8[in.readUnsignedShort()]);
+	final int superClassIndex = in.readUnsignedShort();
+	final String superName = superClassIndex == 0 ? null : toBinaryName(utf8[superClassIndex]);
+
+	final int interfacesCount = in.readUnsignedShort();
+	final List<String> interfaces = new ArrayList<>(interfacesCount);
+	for (int i = 0; i < interfacesCount; i++) {
+	    interfaces.add(toBinaryName(utf8[in.readUnsignedShort()]));
+	}
+
+	skipMembers(in); // fields
+	skipMembers(in); // methods
+
+	Set<String> annotations = Collections.emptySet();
+	final int attributesCount = in.readUnsignedShort();
+	for (int i = 0; i < attributesCount; i++) {
+	    final String attributeName = utf8[in.readUnsignedShort()];
+	    final int length = in.readInt();
+	    if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+		annotations = readAnnotationTypes(in, utf8);
+	    } else {
+		in.skipBytes(length);
+	    }
+	}
+
+	return new ClassFileHeader(accessFlags, annotations, interfaces, name, superName);
+    }
+
+    private static @NonNull Set<String> readAnnotationTypes(final @NonNull DataInputStream in,
+	    final @NonNull String[] utf8) throws IOException {
+	final int count = in.readUnsignedShort();
+	final Set<String> result = new LinkedHashSet<>(count);
+	for (int i = 0; i < count; i++) {
+	    final String descriptor = utf8[in.readUnsignedShort()];
+	    // descriptor is like Lorg/example/MyAnnotation;
+	    result.add(toBinaryName(descriptor.substring(1, descriptor.length() - 1)));
+	    skipElementValuePairs(in);
+	}
+	return result;
+    }
+
+    /**
+     * Reads class file up to the end of constant pool.
+     *
+     * @return {@code CONSTANT_Utf8} values by their indexes. Values of
+     *         {@code CONSTANT_Class} entries are class internal names.
+     */
+    private static @NonNull String[] readConstantPool(final @NonNull DataInputStream in) throws IOException {
+	if (in.readInt() != MAGIC) {
+	    throw new IOException("Not a class file");
+	}
+	in.readUnsignedShort(); // minor_version
+	in.readUnsignedShort(); // major_version
+
+	final int constantPoolCount = in.readUnsignedShort();
+	final String[] utf8 = new String[constantPoolCount];
+	final int[] classNameIndexes = new int[constantPoolCount];
+	for (int i = 1; i < constantPoolCount; i++) {
+	    final int tag = in.readUnsignedByte();
+	    switch (tag) {
+	    case TAG_UTF8:
+		utf8[i] = in.readUTF();
+		break;
+	    case TAG_CLASS:
+		classNameIndexes[i] = in.readUnsignedShort();
+		break;
+	    case TAG_STRING:
+	    case TAG_METHOD_TYPE:
+	    case TAG_MODULE:
+	    case TAG_PACKAGE:
+		in.skipBytes(2);
+		break;
+	    case TAG_METHOD_HANDLE:
+		in.skipBytes(3);
+		break;
+	    case TAG_INTEGER:
+	    case TAG_FLOAT:
+	    case TAG_FIELDREF:
+	    case TAG_METHODREF:
+	    case TAG_INTERFACE_METHODREF:
+	    case TAG_NAME_AND_TYPE:
+	    case TAG_DYNAMIC:
+	    case TAG_INVOKE_DYNAMIC:
+		in.skipBytes(4);
+		break;
+	    case TAG_LONG:
+	    case TAG_DOUBLE:
+		in.skipBytes(8);
+		// 8-byte constants take two entries
+		i++;
+		break;
+	    default:
+		throw new IOException("Unsupported constant pool tag " + tag);
+	    }
+	}
+	for (int i = 1; i < constantPoolCount; i++) {
+	    if (classNameIndexes[i] != 0) {
+		utf8[i] = utf8[classNameIndexes[i]];
+	    }
+	}
+	return utf8;
+    }
+
+    /**
+     * @return names of enum constants in order of fields in class file, that is
+     *         the declaration order for classes compiled by javac
+     */
+    static @NonNull List<String> readEnumConstants(final @NonNull byte[] bytes) throws IOException {
+	final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+	final String[] utf8 = readConstantPool(in);
+
+	// access_flags, this_class, super_class
+	in.skipBytes(6);
+	in.skipBytes(2 * in.readUnsignedShort()); // interfaces
+
+	final int fieldsCount = in.readUnsignedShort();
+	final List<String> result = new ArrayList<>();
+	for (int i = 0; i < fieldsCount; i++) {
+	    final int accessFlags = in.readUnsignedShort();
+	    final String name = utf8[in.readUnsignedShort()];
+	    in.skipBytes(2); // descriptor_index
+	    skipAttributes(in);
+	    if ((accessFlags & ACC_ENUM) != 0) {
+		result.add(name);
+	    }
+	}
+	return result;
+    }
+
+    private static void skipAttributes(final @NonNull DataInputStream in) throws IOException {
+	final int attributesCount = in.readUnsignedShort();
+	for (int i = 0; i < attributesCount; i++) {
+	    in.skipBytes(2);
+	    in.skipBytes(in.readInt());
+	}
+    }
+
+    private static void skipElementValue(final @NonNull DataInputStream in) throws IOException {
+	final int tag = in.readUnsignedByte();
+	switch (tag) {
+	case 'B':
+	case 'C':
+	case 'D':
+	case 'F':
+	case 'I':
+	case 'J':
+	case 'S':
+	case 'Z':
+	case 's':
+	case 'c':
+	    in.skipBytes(2);
+	    break;
+	case 'e':
+	    in.skipBytes(4);
+	    break;
+	case '@':
+	    in.skipBytes(2);
+	    skipElementValuePairs(in);
+	    break;
+	case '[':
+	    final int count = in.readUnsignedShort();
+	    for (int i = 0; i < count; i++) {
+		skipElementValue(in);
+	    }
+	    break;
+	default:
+	    throw new IOException("Unsupported annotation element value tag " + (char) tag);
+	}
+    }
+
+    private static void skipElementValuePairs(final @NonNull DataInputStream in) throws IOException {
+	final int count = in.readUnsignedShort();
+	for (int i = 0; i < count; i++) {
+	    in.skipBytes(2);
+	    skipElementValue(in);
+	}
+    }
+
+    private static void skipMembers(final @NonNull DataInputStream in) throws IOException {
+	final int count = in.readUnsignedShort();
+	for (int i = 0; i < count; i++) {
+	    // access_flags, name_index, descriptor_index
+	    in.skipBytes(6);
+	    skipAttributes(in);
+	}
+    }
+
+    static @NonNull String toBinaryName(final @NonNull String internalName) {
+	return internalName.replace('/', '.');
+    }
+
+    static @NonNull byte[] readFully(final @NonNull InputStream in, final long sizeHint) throws IOException {
+	byte[] buffer = new byte[sizeHint > 0 && sizeHint < Integer.MAX_VALUE ? (int) sizeHint : 8192];
+	int length = 0;
+	int read;
+	while ((read = in.read(buffer, length, buffer.length - length)) != -1) {
+	    length += read;
+	    if (length == buffer.length) {
+		final int next = in.read();
+		if (next == -1) {
+		    break;
+		}
+		buffer = Arrays.copyOf(buffer, buffer.length * 2);
+		buffer[length++] = (byte) next;
+	    }
+	}
+	return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+    }
+
+}
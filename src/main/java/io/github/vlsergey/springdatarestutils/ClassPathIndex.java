@@ -0,0 +1,401 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.annotation.Nullable;
+
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Index of classes available via classpath. Index is built from class file
+ * headers (see {@link ClassFileHeaderReader}) or from Jandex index of JAR, if
+ * present (see {@link JandexUtils}), thus classes are not loaded (and not
+ * initialized) during scan. Only classes that are actually needed
+ * shall be loaded later via {@link #loadClass(String)}.
+ */
+@Slf4j
+class ClassPathIndex {
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private final @NonNull ClassLoader classLoader;
+
+    private final @NonNull Map<String, Set<String>> directSubTypes = new HashMap<>();
+
+    /**
+     * Classes that are not part of scanned packages, but are supertypes of
+     * scanned classes
+     */
+    private final @NonNull Map<String, ClassFileHeader> external = new HashMap<>();
+
+    /**
+     * Classes loaded via {@link #loadClass(String)}, in order of loading
+     */
+    private final @NonNull Set<Class<?>> loadedClasses = Collections.synchronizedSet(new LinkedHashSet<>());
+
+    private final @NonNull Map<String, ClassFileHeader> scanned;
+
+    private ClassPathIndex(final @NonNull ClassLoader classLoader,
+	    final @NonNull Map<String, ClassFileHeader> scanned) {
+	this.classLoader = classLoader;
+	this.scanned = scanned;
+	expandSuperTypes();
+    }
+
+    /**
+     * @param cache    optional on-disk cache of per-entry scan results
+     * @param parallel scan classpath entries in parallel. Results are merged in
+     *                 classpath order, so index is the same as for sequential
+     *                 scan.
+     */
+    static @NonNull ClassPathIndex build(final @NonNull ClassLoader classLoader, final @Nullable String basePackage,
+	    final @Nullable ScanIndexCache cache, final boolean parallel) {
+	final @Nullable String packagePath = toPackagePath(basePackage);
+	final List<File> candidates = findRoots(classLoader, basePackage);
+
+	final Function<File, List<ClassFileHeader>> scanner = root -> cache == null ? scanRoot(root, packagePath)
+		: cache.getOrScan(root, packagePath, () -> scanRoot(root, packagePath));
+
+	final List<File> roots;
+	final List<List<ClassFileHeader>> perRoot;
+	if (parallel && candidates.size() > 1) {
+	    final ForkJoinPool pool = new ForkJoinPool(
+		    Math.min(candidates.size(), Runtime.getRuntime().availableProcessors()));
+	    try {
+		roots = packagePath == null ? candidates
+			: pool.invoke(ForkJoinTask.adapt(() -> candidates.parallelStream()
+				.filter(root -> mayContainPackage(root, packagePath)).collect(toList())));
+		perRoot = pool.invoke(ForkJoinTask.adapt(() -> roots.parallelStream().map(scanner).collect(toList())));
+	    } finally {
+		GeneratorTeardown.shutdownAndAwait(pool);
+	    }
+	} else {
+	    roots = packagePath == null ? candidates
+		    : candidates.stream().filter(root -> mayContainPackage(root, packagePath)).collect(toList());
+	    perRoot = roots.stream().map(scanner).collect(toList());
+	}
+	if (roots.size() != candidates.size()) {
+	    log.debug("{} of {} classpath entries do not contain package {} and are not scanned",
+		    candidates.size() - roots.size(), candidates.size(), basePackage);
+	}
+
+	final Map<String, ClassFileHeader> scanned = new LinkedHashMap<>();
+	for (List<ClassFileHeader> headers : perRoot) {
+	    for (ClassFileHeader header : headers) {
+		scanned.putIfAbsent(header.getName(), header);
+	    }
+	}
+
+	if (cache != null) {
+	    log.info("Indexed {} classes from {} classpath entries ({} entries were not changed since last scan)",
+		    scanned.size(), roots.size(), cache.getHits().get());
+	} else {
+	    log.info("Indexed {} classes from {} classpath entries", scanned.size(), roots.size());
+	}
+	return new ClassPathIndex(classLoader, scanned);
+    }
+
+    /**
+     * @return classpath entries of class loader (and its parents). If base
+     *         package is specified, entries that contain directory of this
+     *         package are returned first.
+     */
+    @SneakyThrows
+    static @NonNull List<File> findRoots(final @NonNull ClassLoader classLoader, final @Nullable String basePackage) {
+	final Set<File> result = new LinkedHashSet<>();
+
+	if (basePackage != null) {
+	    final String packagePath = basePackage.replace('.', '/');
+	    for (URL url : Collections.list(classLoader.getResources(packagePath))) {
+		toRoot(url, packagePath).ifPresent(result::add);
+	    }
+	}
+
+	// directory entries are optional in JARs, thus all entries are returned
+	for (ClassLoader cl = classLoader; cl != null; cl = cl.getParent()) {
+	    if (cl instanceof URLClassLoader) {
+		for (URL url : ((URLClassLoader) cl).getURLs()) {
+		    toRoot(url, "").ifPresent(result::add);
+		}
+	    } else if (cl == ClassLoader.getSystemClassLoader()) {
+		// since Java 9 application class loader is not URLClassLoader
+		for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+		    if (!entry.isEmpty()) {
+			result.add(new File(entry));
+		    }
+		}
+	    }
+	}
+	return new ArrayList<>(result);
+    }
+
+    static boolean isClassFileToScan(final @NonNull String entryName, final @Nullable String packagePath) {
+	return entryName.endsWith(CLASS_FILE_SUFFIX) && !entryName.startsWith("META-INF/")
+		&& !entryName.endsWith("module-info.class") && !entryName.endsWith("package-info.class")
+		&& (packagePath == null || entryName.startsWith(packagePath));
+    }
+
+    private static boolean isJdkType(final @NonNull String className) {
+	return className.startsWith("java.");
+    }
+
+    /**
+     * Checks if classpath entry may contain classes of package. For JARs only
+     * central directory (list of entry names) is read.
+     */
+    static boolean mayContainPackage(final @NonNull File root, final @NonNull String packagePath) {
+	if (root.isDirectory()) {
+	    return new File(root, packagePath).isDirectory();
+	}
+	if (!root.isFile()) {
+	    return false;
+	}
+	try (ZipFile zipFile = new ZipFile(root)) {
+	    final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+	    while (entries.hasMoreElements()) {
+		if (entries.nextElement().getName().startsWith(packagePath)) {
+		    return true;
+		}
+	    }
+	    return false;
+	} catch (IOException exc) {
+	    log.debug("Unable to read {} as ZIP archive: {}", root, exc.getMessage());
+	    return false;
+	}
+    }
+
+    private static @NonNull Optional<ClassFileHeader> readHeader(final @NonNull String source,
+	    final @NonNull InputStream in, final long sizeHint) {
+	try {
+	    return Optional.of(ClassFileHeaderReader.read(ClassFileHeaderReader.readFully(in, sizeHint)));
+	} catch (IOException exc) {
+	    log.debug("Unable to read class file header from {}: {}", source, exc.getMessage());
+	    return Optional.empty();
+	}
+    }
+
+    static @NonNull List<ClassFileHeader> scanRoot(final @NonNull File root, final @Nullable String packagePath) {
+	if (root.isDirectory()) {
+	    return scanDirectory(root, packagePath);
+	}
+	if (root.isFile()) {
+	    return scanJar(root, packagePath);
+	}
+	return Collections.emptyList();
+    }
+
+    private static @NonNull List<ClassFileHeader> scanDirectory(final @NonNull File root,
+	    final @Nullable String packagePath) {
+	final Path rootPath = root.toPath();
+	final Path startPath = packagePath == null ? rootPath : rootPath.resolve(packagePath);
+	if (!Files.isDirectory(startPath)) {
+	    return Collections.emptyList();
+	}
+
+	try (Stream<Path> files = Files.walk(startPath)) {
+	    return files.filter(Files::isRegularFile) //
+		    .filter(file -> isClassFileToScan(rootPath.relativize(file).toString().replace(File.separatorChar, '/'),
+			    packagePath)) //
+		    .map(file -> {
+			try (InputStream in = Files.newInputStream(file)) {
+			    return readHeader(file.toString(), in, Files.size(file));
+			} catch (IOException exc) {
+			    log.debug("Unable to read {}: {}", file, exc.getMessage());
+			    return Optional.<ClassFileHeader>empty();
+			}
+		    }) //
+		    .filter(Optional::isPresent).map(Optional::get) //
+		    .collect(toList());
+	} catch (IOException exc) {
+	    log.warn("Unable to scan directory {}: {}", root, exc.getMessage());
+	    return Collections.emptyList();
+	}
+    }
+
+    private static @NonNull List<ClassFileHeader> scanJar(final @NonNull File root,
+	    final @Nullable String packagePath) {
+	final List<ClassFileHeader> result = new ArrayList<>();
+	try (ZipFile zipFile = new ZipFile(root)) {
+	    final ZipEntry jandexIndex = zipFile.getEntry(JandexUtils.INDEX_ENTRY_NAME);
+	    if (jandexIndex != null) {
+		try (InputStream in = zipFile.getInputStream(jandexIndex)) {
+		    final List<ClassFileHeader> fromIndex = JandexUtils.readHeaders(in, packagePath);
+		    log.debug("Using Jandex index of {} ({} classes)", root, fromIndex.size());
+		    return fromIndex;
+		} catch (IOException | RuntimeException exc) {
+		    log.debug("Unable to use Jandex index of {}, falling back to scan: {}", root, exc.toString());
+		}
+	    }
+
+	    final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+	    while (entries.hasMoreElements()) {
+		final ZipEntry entry = entries.nextElement();
+		if (entry.isDirectory() || !isClassFileToScan(entry.getName(), packagePath)) {
+		    continue;
+		}
+		try (InputStream in = zipFile.getInputStream(entry)) {
+		    readHeader(root + "!/" + entry.getName(), in, entry.getSize()).ifPresent(result::add);
+		}
+	    }
+	} catch (IOException exc) {
+	    log.debug("Unable to scan {} as ZIP archive: {}", root, exc.getMessage());
+	}
+	return result;
+    }
+
+    private static @Nullable String toPackagePath(final @Nullable String basePackage) {
+	return basePackage == null ? null : basePackage.replace('.', '/') + "/";
+    }
+
+    private static @NonNull Optional<File> toRoot(final @NonNull URL url, final @NonNull String packagePath)
+	    throws URISyntaxException {
+	switch (url.getProtocol()) {
+	case "file": {
+	    File file = new File(url.toURI());
+	    if (!packagePath.isEmpty()) {
+		for (int i = 0; i < packagePath.split("/").length && file != null; i++) {
+		    file = file.getParentFile();
+		}
+	    }
+	    return Optional.ofNullable(file);
+	}
+	case "jar": {
+	    final String path = url.getPath();
+	    final int separator = path.indexOf("!/");
+	    final URI jarUri = new URI(separator == -1 ? path : path.substring(0, separator));
+	    return "file".equals(jarUri.getScheme()) ? Optional.of(new File(jarUri)) : Optional.empty();
+	}
+	default:
+	    log.debug("Classpath entry {} is not supported and will not be scanned", url);
+	    return Optional.empty();
+	}
+    }
+
+    private void expandSuperTypes() {
+	final Deque<ClassFileHeader> queue = new ArrayDeque<>(scanned.values());
+	final Set<String> visited = new HashSet<>(scanned.keySet());
+
+	while (!queue.isEmpty()) {
+	    final ClassFileHeader header = queue.poll();
+	    for (String superType : getDirectSuperTypes(header)) {
+		directSubTypes.computeIfAbsent(superType, k -> new LinkedHashSet<>()).add(header.getName());
+
+		if (visited.add(superType) && !isJdkType(superType)) {
+		    readHeaderFromClassLoader(superType).ifPresent(superHeader -> {
+			external.put(superType, superHeader);
+			queue.add(superHeader);
+		    });
+		}
+	    }
+	}
+    }
+
+    private @NonNull List<String> getDirectSuperTypes(final @NonNull ClassFileHeader header) {
+	final List<String> result = new ArrayList<>(header.getInterfaces().size() + 1);
+	if (header.getSuperName() != null) {
+	    result.add(header.getSuperName());
+	}
+	result.addAll(header.getInterfaces());
+	return result;
+    }
+
+    @NonNull
+    Optional<ClassFileHeader> getHeader(final @NonNull String className) {
+	final ClassFileHeader result = scanned.get(className);
+	return result != null ? Optional.of(result) : Optional.ofNullable(external.get(className));
+    }
+
+    /**
+     * @return all (direct and indirect) subtypes of specified class or interface
+     *         that are scanned classes or their supertypes. Specified class is
+     *         not included.
+     */
+    @NonNull
+    Set<String> getSubTypesOf(final @NonNull String className) {
+	final Set<String> result = new LinkedHashSet<>();
+	final Deque<String> queue = new ArrayDeque<>();
+	queue.add(className);
+	while (!queue.isEmpty()) {
+	    for (String subType : directSubTypes.getOrDefault(queue.poll(), emptySet())) {
+		if (result.add(subType)) {
+		    queue.add(subType);
+		}
+	    }
+	}
+	return result;
+    }
+
+    /**
+     * @return scanned classes that have specified annotation directly present
+     */
+    @NonNull
+    Set<String> getTypesAnnotatedWith(final @NonNull String annotationClassName) {
+	return scanned.values().stream().filter(header -> header.getAnnotations().contains(annotationClassName))
+		.map(ClassFileHeader::getName).collect(toSet());
+    }
+
+    @NonNull
+    Set<Class<?>> getLoadedClasses() {
+	synchronized (loadedClasses) {
+	    return new LinkedHashSet<>(loadedClasses);
+	}
+    }
+
+    boolean isEmpty() {
+	return scanned.isEmpty();
+    }
+
+    /**
+     * @return number of scanned classes
+     */
+    int size() {
+	return scanned.size();
+    }
+
+    /**
+     * Loads class without initialization
+     */
+    @NonNull
+    Optional<Class<?>> loadClass(final @NonNull String className) {
+	try {
+	    final Class<?> result = Class.forName(className, false, classLoader);
+	    loadedClasses.add(result);
+	    return Optional.of(result);
+	} catch (ClassNotFoundException | LinkageError exc) {
+	    log.warn("Unable to load class {}: {}", className, exc.toString());
+	    return Optional.empty();
+	}
+    }
+
+    private @NonNull Optional<ClassFileHeader> readHeaderFromClassLoader(final @NonNull String className) {
+	final String resourceName = className.replace('.', '/') + CLASS_FILE_SUFFIX;
+	try (InputStream in = classLoader.getResourceAsStream(resourceName)) {
+	    return in == null ? Optional.empty() : readHeader(resourceName, in, -1);
+	} catch (IOException exc) {
+	    log.debug("Unable to read {}: {}", resourceName, exc.getMessage());
+	    return Optional.empty();
+	}
+    }
+
+}
@@ -1,16 +1,12 @@
 package io.github.vlsergey.springdatarestutils;
 
+import java.io.File;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
-import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
 
-import org.reflections.Reflections;
-import org.reflections.ReflectionsException;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.scanners.TypeAnnotationsScanner;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.core.RepositoryMetadata;
@@ -21,13 +17,15 @@ import org.springframework.util.ClassUtils;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class CodebaseScannerFacade {
 
     @Getter
@@ -36,25 +34,109 @@ public class CodebaseScannerFacade {
     @Getter
     private final @NonNull RepositoryDetectionStrategy repositoryDetectionStrategy;
 
-    @SneakyThrows
-    @SuppressWarnings({ "rawtypes", "unchecked" })
+    /**
+     * Classes loaded (without initialization) during last scan
+     */
+    @Getter
+    private @NonNull Set<Class<?>> loadedClasses = emptySet();
+
+    /**
+     * Directory to store per-classpath-entry scan results between runs.
+     * {@code null} disables caching. Cache files not used by scan are deleted.
+     */
+    @Getter
+    @Setter
+    private @Nullable File scanCacheDir;
+
+    /**
+     * Cache shared with other scans of the same run, takes precedence over
+     * {@link #scanCacheDir}. Unused cache files are not deleted by scan, but
+     * by owner of cache.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private @Nullable ScanIndexCache scanIndexCache;
+
+    /**
+     * Scan classpath entries (JARs and directories) in parallel
+     */
+    @Getter
+    @Setter
+    private boolean parallelScan = true;
+
+    /**
+     * Report to record scan phases into
+     */
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private @NonNull GenerationReport report = new GenerationReport();
+
     public ScanResult scan(ClassLoader classLoader) {
-	final Reflections reflections = basePackage == null
-		? new Reflections(classLoader, new SubTypesScanner(true), new TypeAnnotationsScanner())
-		: new Reflections(basePackage, classLoader, new SubTypesScanner(true), new TypeAnnotationsScanner());
-
-	final Set<Class<?>> jpaRepos;
-	try {
-	    jpaRepos = (Set) reflections.getSubTypesOf(JpaRepository.class);
-	} catch (ReflectionsException exc) {
+	final ClassPathIndex index;
+	try (GenerationReport.Phase phase = report.phase("classPathIndex")) {
+	    if (scanIndexCache == null && scanCacheDir != null) {
+		final ScanIndexCache ownCache = new ScanIndexCache(scanCacheDir);
+		index = ClassPathIndex.build(classLoader, basePackage, ownCache, parallelScan);
+		ownCache.pruneUntouched();
+	    } else {
+		index = ClassPathIndex.build(classLoader, basePackage, scanIndexCache, parallelScan);
+	    }
+	    phase.setItems(index.size());
+	}
+	if (index.isEmpty()) {
 	    throw new RuntimeException(
 		    "Unable to locate any JPA repositories in package or subpackages of '" + basePackage + "'");
 	}
 
-	final Set<RepositoryMetadata> repositories = jpaRepos.stream() //
-		.filter(Class::isInterface) //
-		.filter(cls -> basePackage == null || cls.getName().startsWith(basePackage)) //
-		.filter(cls -> cls.getAnnotation(NoRepositoryBean.class) == null) //
+	final Set<RepositoryMetadata> repositories;
+	try (GenerationReport.Phase phase = report.phase("repositories")) {
+	    repositories = scanForRepositories(index);
+	    phase.setItems(repositories.size());
+	}
+
+	final Set<Class<?>> projections;
+	try (GenerationReport.Phase phase = report.phase("projections")) {
+	    projections = scanForProjections(index);
+	    phase.setItems(projections.size());
+	}
+
+	final @NonNull Map<Class<?>, SortedSet<Class<?>>> inheritance;
+	try (GenerationReport.Phase phase = report.phase("inheritance")) {
+	    inheritance = scanForInheritance(index, repositories);
+	    phase.setItems(inheritance.size());
+	}
+
+	final @NonNull Set<Method> queryMethodsCandidates;
+	try (GenerationReport.Phase phase = report.phase("queryMethodsCandidates")) {
+	    queryMethodsCandidates = scanForQueryMethodsCandidates(index, repositories);
+	    phase.setItems(queryMethodsCandidates.size());
+	}
+
+	this.loadedClasses = unmodifiableSet(index.getLoadedClasses());
+	return new ScanResult(unmodifiableMap(inheritance), unmodifiableSet(projections), unmodifiableSet(repositories),
+		unmodifiableSet(queryMethodsCandidates));
+    }
+
+    private @NonNull Set<Class<?>> scanForProjections(final ClassPathIndex index) {
+	final Set<Class<?>> projections = SpringDataUtils.CLASS_PROJECTION
+		.map(cls -> index.getTypesAnnotatedWith(cls.getName()).stream().map(index::loadClass)
+			.filter(Optional::isPresent).<Class<?>>map(Optional::get).collect(toSet()))
+		.orElseGet(HashSet::new);
+	if (projections.isEmpty()) {
+	    log.info("No types annotated with @Projection were found. Hope you just are not usign them.");
+	}
+	return projections;
+    }
+
+    private @NonNull Set<RepositoryMetadata> scanForRepositories(final ClassPathIndex index) {
+	return index.getSubTypesOf(JpaRepository.class.getName()).stream() //
+		.filter(name -> basePackage == null || name.startsWith(basePackage)) //
+		.map(index::getHeader) //
+		.filter(Optional::isPresent).map(Optional::get) //
+		.filter(ClassFileHeader::isInterface) //
+		.filter(header -> !header.getAnnotations().contains(NoRepositoryBean.class.getName())) //
+		.map(header -> index.loadClass(header.getName())) //
+		.filter(Optional::isPresent).map(Optional::get) //
 		.map(cls -> {
 		    log.debug("Found JPA repo class: {}", cls.getName());
 		    return cls;
@@ -69,28 +151,10 @@ public class CodebaseScannerFacade {
 		    log.info("Collected JPA repo class: {}", metadata.getRepositoryInterface().getName());
 		    return true;
 		}).collect(toSet());
-
-	Set<Class<?>> projections = (Set<Class<?>>) SpringDataUtils.CLASS_PROJECTION.map(cls -> {
-	    try {
-		return reflections.getTypesAnnotatedWith(cls);
-	    } catch (ReflectionsException exc) {
-		log.info("No types annotated with @Projection were found. Hope you just are not usign them.");
-		return emptySet();
-	    }
-	}).orElse(emptySet());
-
-	final @NonNull Map<Class<?>, SortedSet<Class<?>>> inheritance = scanForInheritance(reflections, repositories);
-	final @NonNull Set<Method> queryMethodsCandidates = scanForQueryMethodsCandidates(reflections, repositories);
-
-	return new ScanResult(unmodifiableMap(inheritance), unmodifiableSet(projections), unmodifiableSet(repositories),
-		unmodifiableSet(queryMethodsCandidates));
     }
 
-    private @NonNull Map<Class<?>, SortedSet<Class<?>>> scanForInheritance(final Reflections reflections,
+    private @NonNull Map<Class<?>, SortedSet<Class<?>>> scanForInheritance(final ClassPathIndex index,
 	    final Set<RepositoryMetadata> repositories) {
-	final Predicate<Class<?>> inBasePackageOrSubpackage = cls -> (cls.getPackage().getName() + ".")
-		.startsWith(basePackage + ".");
-
 	Map<Class<?>, SortedSet<Class<?>>> result = new HashMap<>();
 	PersistenceUtils.CLASS_INHERITANCE.ifPresent(inheritance -> repositories.stream() //
 		.map(RepositoryMetadata::getDomainType) //
@@ -99,7 +163,9 @@ public class CodebaseScannerFacade {
 		    SortedSet<Class<?>> childClasses = new TreeSet<>(Comparator.comparing(Class::getName));
 
 		    childClasses.add(parentClass);
-		    reflections.getSubTypesOf(parentClass).stream().filter(inBasePackageOrSubpackage)
+		    index.getSubTypesOf(parentClass.getName()).stream()
+			    .filter(className -> isInBasePackageOrSubpackage(basePackage, className))
+			    .map(index::loadClass).filter(Optional::isPresent).map(Optional::get)
 			    .forEach(childClasses::add);
 
 		    result.put(parentClass, childClasses);
@@ -107,10 +173,57 @@ public class CodebaseScannerFacade {
 	return result;
     }
 
-    private @NonNull Set<Method> scanForQueryMethodsCandidates(final Reflections reflections,
+    private static boolean isInBasePackageOrSubpackage(final @Nullable String basePackage,
+	    final @NonNull String className) {
+	return basePackage == null || (className.substring(0, Math.max(0, className.lastIndexOf('.'))) + ".")
+		.startsWith(basePackage + ".");
+    }
+
+    /**
+     * @return methods of repository interface that are checked to be query
+     *         methods candidates
+     */
+    private static @NonNull List<Method> getRepositoryMethods(final @NonNull RepositoryMetadata meta) {
+	return Arrays.stream(meta.getRepositoryInterface().getMethods())
+		.map(repoMethod -> ClassUtils.getMostSpecificMethod(repoMethod, meta.getRepositoryInterface()))
+		.collect(toList());
+    }
+
+    /**
+     * @return signatures of methods that have implementation (non-abstract
+     *         class method or default interface method) in subtypes of
+     *         specified class, mapped to name of first such subtype
+     */
+    private static @NonNull Map<String, String> scanImplementedMethods(final @NonNull ClassPathIndex index,
+	    final @NonNull Class<?> cls) {
+	final Map<String, String> result = new HashMap<>();
+	for (String subTypeName : index.getSubTypesOf(cls.getName())) {
+	    final Optional<Class<?>> subType = index.loadClass(subTypeName);
+	    if (!subType.isPresent()) {
+		continue;
+	    }
+	    for (Method declared : subType.get().getDeclaredMethods()) {
+		// bridge method is the only declaration with erased signature when
+		// subtype binds type parameters of generic method, thus is kept
+		final boolean implemented = subType.get().isInterface() ? declared.isDefault()
+			: !Modifier.isAbstract(declared.getModifiers());
+		if (implemented) {
+		    result.putIfAbsent(toSignature(declared), subTypeName);
+		}
+	    }
+	}
+	return result;
+    }
+
+    private static @NonNull String toSignature(final @NonNull Method method) {
+	return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+
+    private @NonNull Set<Method> scanForQueryMethodsCandidates(final ClassPathIndex index,
 	    final Set<RepositoryMetadata> repositories) {
 	log.info("Scanning implementation of repo methods to filter query methods candidates...");
 	Set<Method> queryMethodsCandidates = new LinkedHashSet<>();
+	final Map<Class<?>, Map<String, String>> implementedBelow = new HashMap<>();
 	for (RepositoryMetadata meta : repositories) {
 
 	    // TODO: not ideal check, better to actually check overriding of methods in base
@@ -121,40 +234,23 @@ public class CodebaseScannerFacade {
 	    meta.getCrudMethods().getFindOneMethod().ifPresent(crudMethods::add);
 	    meta.getCrudMethods().getSaveMethod().ifPresent(crudMethods::add);
 
-	    nextMethod: for (Method repoMethod : meta.getRepositoryInterface().getMethods()) {
-		Method method = ClassUtils.getMostSpecificMethod(repoMethod, meta.getRepositoryInterface());
+	    for (Method method : getRepositoryMethods(meta)) {
 		if (method.isBridge() || method.isDefault() || Modifier.isStatic(method.getModifiers())
 			|| method.getDeclaringClass().getName().startsWith("org.springframework.")
 			|| crudMethods.contains(method)) {
 		    continue;
 		}
 
-		for (Class<?> subType : reflections.getSubTypesOf(method.getDeclaringClass())) {
-		    final @NonNull Method declared;
-		    try {
-			declared = subType.getDeclaredMethod(method.getName(), method.getParameterTypes());
-		    } catch (NoSuchMethodException exc) {
-			continue;
-		    }
-
-		    if (subType.isInterface()) {
-			if (declared.isDefault()) {
-			    log.debug(
-				    "Method {} is not a query candidate because have non-default declaration in {}, "
-					    + "which is child class of {}",
-				    method, subType.getName(), method.getDeclaringClass().getName());
-			    continue nextMethod;
-			}
-		    } else {
-			if (!Modifier.isAbstract(declared.getModifiers())) {
-			    log.debug(
-				    "Method {} is not a query candidate because have non-abstract declaration in {}, "
-					    + "which is child class of {}",
-				    method, subType.getName(), method.getDeclaringClass().getName());
-			    continue nextMethod;
-			}
-		    }
+		final String implementedIn = implementedBelow
+			.computeIfAbsent(method.getDeclaringClass(), cls -> scanImplementedMethods(index, cls))
+			.get(toSignature(method));
+		if (implementedIn != null) {
+		    log.debug("Method {} is not a query candidate because have non-abstract (non-default) "
+			    + "declaration in {}, which is child class of {}", method, implementedIn,
+			    method.getDeclaringClass().getName());
+		    continue;
 		}
+
 		log.info("Method {} is registered as a query candidate", method);
 		queryMethodsCandidates.add(method);
 	    }
@@ -162,7 +258,6 @@ public class CodebaseScannerFacade {
 	return queryMethodsCandidates;
     }
 
-    @AllArgsConstructor
     @Data
     public static class ScanResult {
 	/**
@@ -173,6 +268,74 @@ public class CodebaseScannerFacade {
 	private final @NonNull Set<Class<?>> projections;
 	private final @NonNull Set<RepositoryMetadata> repositories;
 	private final @NonNull Set<Method> queryMethodsCandidates;
+
+	/**
+	 * Name of discriminator property of inheritance root class (if such
+	 * property exists)
+	 */
+	private final @NonNull Map<Class<?>, String> inheritanceDiscriminators;
+	/**
+	 * Inheritance root class of every class from {@link #inheritance} values
+	 */
+	private final @NonNull Map<Class<?>, Class<?>> inheritanceRoots;
+
+	public ScanResult(final @NonNull Map<Class<?>, SortedSet<Class<?>>> inheritance,
+		final @NonNull Set<Class<?>> projections, final @NonNull Set<RepositoryMetadata> repositories,
+		final @NonNull Set<Method> queryMethodsCandidates) {
+	    this.inheritance = inheritance;
+	    this.projections = projections;
+	    this.repositories = repositories;
+	    this.queryMethodsCandidates = queryMethodsCandidates;
+
+	    final Map<Class<?>, String> discriminators = new HashMap<>();
+	    final Map<Class<?>, Class<?>> roots = new HashMap<>();
+	    inheritance.forEach((root, children) -> {
+		final String discriminatorColumnName = PersistenceUtils.getDiscriminatorColumnName(root)
+			.orElse("DTYPE");
+		PropertyModel.of(root).stream()
+			.filter(property -> property.getColumnName().equalsIgnoreCase(discriminatorColumnName))
+			.map(PropertyModel::getName).findAny()
+			.ifPresent(propertyName -> discriminators.put(root, propertyName));
+
+		children.forEach(child -> roots.put(child, root));
+	    });
+	    this.inheritanceDiscriminators = unmodifiableMap(discriminators);
+	    this.inheritanceRoots = unmodifiableMap(roots);
+	}
+
+	/**
+	 * @return part of this result that scan of specified base package (shall
+	 *         be the same as or subpackage of scanned one) with specified
+	 *         detection strategy (shall not detect more repositories than
+	 *         scanned one) would find
+	 */
+	public @NonNull ScanResult restrict(final @Nullable String basePackage,
+		final @NonNull RepositoryDetectionStrategy repositoryDetectionStrategy) {
+	    final Set<RepositoryMetadata> restrictedRepositories = repositories.stream()
+		    .filter(meta -> basePackage == null
+			    || meta.getRepositoryInterface().getName().startsWith(basePackage))
+		    .filter(repositoryDetectionStrategy::isExported).collect(toSet());
+
+	    final Map<Class<?>, SortedSet<Class<?>>> restrictedInheritance = new HashMap<>();
+	    restrictedRepositories.stream().map(RepositoryMetadata::getDomainType).filter(inheritance::containsKey)
+		    .forEach(parentClass -> {
+			final SortedSet<Class<?>> childClasses = new TreeSet<>(Comparator.comparing(Class::getName));
+			inheritance.get(parentClass).stream().filter(child -> child == parentClass
+				|| isInBasePackageOrSubpackage(basePackage, child.getName())).forEach(childClasses::add);
+			restrictedInheritance.put(parentClass, childClasses);
+		    });
+
+	    final Set<Class<?>> restrictedProjections = projections.stream()
+		    .filter(cls -> basePackage == null || cls.getName().startsWith(basePackage)).collect(toSet());
+
+	    final Set<Method> repositoriesMethods = restrictedRepositories.stream()
+		    .flatMap(meta -> getRepositoryMethods(meta).stream()).collect(toSet());
+	    final Set<Method> restrictedQueryMethodsCandidates = queryMethodsCandidates.stream()
+		    .filter(repositoriesMethods::contains).collect(toCollection(LinkedHashSet::new));
+
+	    return new ScanResult(unmodifiableMap(restrictedInheritance), unmodifiableSet(restrictedProjections),
+		    unmodifiableSet(restrictedRepositories), unmodifiableSet(restrictedQueryMethodsCandidates));
+	}
     }
 
 }
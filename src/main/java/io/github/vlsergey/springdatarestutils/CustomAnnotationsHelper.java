@@ -1,6 +1,5 @@
 package io.github.vlsergey.springdatarestutils;
 
-import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Map;
@@ -19,6 +18,13 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CustomAnnotationsHelper {
 
+    private static final ReleasableClassValue<Optional<Method>> VALUE_METHODS = new ReleasableClassValue<Optional<Method>>() {
+	@Override
+	protected Optional<Method> compute(Class<?> type) {
+	    return ReflectionUtils.findMethod(type, "value");
+	}
+    };
+
     private final @NonNull Map<String, Class<? extends Annotation>> customAnnotations;
 
     public CustomAnnotationsHelper(final @NonNull TaskProperties taskProperties) {
@@ -29,7 +35,7 @@ public class CustomAnnotationsHelper {
     }
 
     private static <A extends Annotation> @NonNull Object getAnnotationValue(final @NonNull A annotation) {
-	return ReflectionUtils.findMethod(annotation.getClass(), "value").map(valueMethod -> {
+	return VALUE_METHODS.get(annotation.getClass()).map(valueMethod -> {
 	    try {
 		return valueMethod.invoke(annotation);
 	    } catch (Exception exc) {
@@ -39,6 +45,13 @@ public class CustomAnnotationsHelper {
 	}).orElse(Boolean.TRUE);
     }
 
+    /**
+     * Removes cached {@code value()} methods of annotation classes
+     */
+    static void releaseCache() {
+	VALUE_METHODS.release();
+    }
+
     public void populateMethod(final @NonNull Class<?> targetClass, final @NonNull Method method,
 	    final @NonNull Operation operation) {
 	customAnnotations.forEach(
@@ -47,9 +60,10 @@ public class CustomAnnotationsHelper {
 			.ifPresent(value -> operation.addExtension(extensionName, value)));
     }
 
-    public void populatePropertySchema(final @NonNull PropertyDescriptor pd, final @NonNull Schema<?> targetSchema) {
-	customAnnotations.forEach((extensionName, annClass) -> ReflectionUtils
-		.findAnnotationOnReadMethodOfField(annClass, pd).map(CustomAnnotationsHelper::getAnnotationValue)
+    void populatePropertySchema(final @NonNull PropertyAnnotations annotations,
+	    final @NonNull Schema<?> targetSchema) {
+	customAnnotations.forEach((extensionName, annClass) -> annotations.find(annClass)
+		.map(CustomAnnotationsHelper::getAnnotationValue)
 		.ifPresent(value -> targetSchema.addExtension(extensionName, value)));
     }
 }
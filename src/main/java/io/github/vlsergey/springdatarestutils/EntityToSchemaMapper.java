@@ -16,6 +16,7 @@ import org.springframework.util.StringUtils;
 import io.github.vlsergey.springdatarestutils.CodebaseScannerFacade.ScanResult;
 import io.swagger.v3.oas.models.media.*;
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 
@@ -34,6 +35,9 @@ public class EntityToSchemaMapper {
 
     private final @NonNull ScanResult scanResult;
 
+    @Getter
+    private final @NonNull StandardSchemasProvider standardSchemasProvider;
+
     private final @NonNull TaskProperties taskProperties;
 
     @SuppressWarnings("rawtypes")
@@ -85,11 +89,6 @@ public class EntityToSchemaMapper {
 	return result;
     }
 
-    private static boolean isGeneratedValue(PropertyDescriptor pd) {
-	return PersistenceUtils.isGeneratedValue(pd) || HibernateUtils.isCreationTimestamp(pd)
-		|| HibernateUtils.isUpdateTimestamp(pd);
-    }
-
     private static Schema<?> makeNullable(Schema<?> schema) {
 	ComposedSchema composedSchema = new ComposedSchema();
 	composedSchema.setNullable(Boolean.TRUE);
@@ -102,7 +101,7 @@ public class EntityToSchemaMapper {
 	final BeanInfo beanInfo = Introspector.getBeanInfo(cls);
 	return Arrays.stream(beanInfo.getPropertyDescriptors())
 		.filter(pd -> !pd.getReadMethod().getDeclaringClass().getName().startsWith("java.lang."))
-		.filter(pd -> !PersistenceUtils.isTransient(pd));
+		.filter(pd -> !PersistenceUtils.isTransient(PropertyAnnotations.of(pd)));
     }
 
     static void withBeanProperties(Class<?> cls, Consumer<PropertyDescriptor> consumer) {
@@ -132,8 +131,8 @@ public class EntityToSchemaMapper {
 	links.put("self", cls);
 	links.put(StringUtils.uncapitalize(cls.getSimpleName()), cls);
 
-	withBeanProperties(cls, pd -> {
-	    final Class<?> propertyType = pd.getPropertyType();
+	PropertyModel.of(cls).forEach(property -> {
+	    final Class<?> propertyType = property.getPropertyType();
 	    if (Collection.class.isAssignableFrom(propertyType)) {
 		// not yet implemented
 		return;
@@ -141,7 +140,7 @@ public class EntityToSchemaMapper {
 	    if (!isExposed.test(propertyType)) {
 		return;
 	    }
-	    links.put(pd.getName(), propertyType);
+	    links.put(property.getName(), propertyType);
 	});
 
 	ObjectSchema linksSchema = new ObjectSchema();
@@ -177,10 +176,8 @@ public class EntityToSchemaMapper {
 	    final @NonNull RequestType requestType) {
 	ComposedSchema composedSchema = new ComposedSchema();
 
-	String discriminatorColumnName = PersistenceUtils.getDiscriminatorColumnName(cls).orElse("DTYPE");
-	Optional<String> discriminatorFieldName = withBeanProperties(cls)
-		.filter(pd -> PersistenceUtils.getColumnName(pd).equalsIgnoreCase(discriminatorColumnName))
-		.map(PropertyDescriptor::getName).findAny();
+	Optional<String> discriminatorFieldName = Optional
+		.ofNullable(scanResult.getInheritanceDiscriminators().get(cls));
 
 	discriminatorFieldName
 		.ifPresent(fieldName -> composedSchema.setDiscriminator(new Discriminator().propertyName(fieldName)));
@@ -229,9 +226,16 @@ public class EntityToSchemaMapper {
 	return new ComposedSchema().addAllOfItem(oneOf).addAllOfItem(links);
     }
 
-    @SneakyThrows
     public Schema<?> mapEntity(final @NonNull Class<?> cls, final @NonNull ClassMappingMode mode,
 	    final @NonNull RequestType requestType) {
+	try (GenerationEvents.Scope event = GenerationEvents.INSTANCE.mapEntity(cls, mode, requestType)) {
+	    return mapEntityImpl(cls, mode, requestType);
+	}
+    }
+
+    @SneakyThrows
+    private Schema<?> mapEntityImpl(final @NonNull Class<?> cls, final @NonNull ClassMappingMode mode,
+	    final @NonNull RequestType requestType) {
 	if (mode == ClassMappingMode.LINKS) {
 	    return buildEntityLinksSchema(cls, mode, requestType);
 	}
@@ -246,8 +250,7 @@ public class EntityToSchemaMapper {
 
 	if (mode == ClassMappingMode.INHERITANCE_CHILD) {
 	    ComposedSchema composedSchema = new ComposedSchema();
-	    final Class<?> baseClass = scanResult.getInheritance().entrySet().stream()
-		    .filter(e -> e.getValue().contains(cls)).findAny().get().getKey();
+	    final Class<?> baseClass = scanResult.getInheritanceRoots().get(cls);
 	    composedSchema.addAllOfItem(
 		    classToRefResolver.getRefSchema(baseClass, ClassMappingMode.INHERITANCE_BASE, requestType));
 	    composedSchema.addAllOfItem(toObjectSchema(mode, requestType, cls));
@@ -255,12 +258,11 @@ public class EntityToSchemaMapper {
 	}
 
 	if (cls.isEnum()) {
-	    return mapEnum((Class) cls);
+	    return mapEnum(cls);
 	}
 
-	final Optional<Supplier<Schema<?>>> entityStandardSchemaSupplier = StandardSchemasProvider
-		.getStandardSchemaSupplier(cls, taskProperties.isAddXJavaClassName(),
-			taskProperties.isAddXJavaComparable());
+	final Optional<Supplier<Schema<?>>> entityStandardSchemaSupplier = standardSchemasProvider
+		.getStandardSchemaSupplier(cls);
 	if (entityStandardSchemaSupplier.isPresent()) {
 	    return entityStandardSchemaSupplier.get().get();
 	}
@@ -273,25 +275,28 @@ public class EntityToSchemaMapper {
 	return toObjectSchema(mode, requestType, cls);
     }
 
-    private <T extends Enum<T>> StringSchema mapEnum(Class<T> cls) {
+    /**
+     * Constants are read from class file (in declaration order), since
+     * {@link Class#getEnumConstants()} initializes enum class
+     */
+    private StringSchema mapEnum(Class<?> cls) {
 	final StringSchema stringSchema = new StringSchema();
-	for (T constant : cls.getEnumConstants()) {
-	    stringSchema.addEnumItem(constant.name());
-	}
+	ReflectionUtils.getEnumConstantNames(cls).forEach(stringSchema::addEnumItem);
 	return stringSchema;
     }
 
-    private void populateSchema(PropertyDescriptor pd, Schema<?> schema) {
-	ValidationUtils.getMaxValue(pd).ifPresent(value -> schema.setMaximum(BigDecimal.valueOf(value)));
-	ValidationUtils.getMinValue(pd).ifPresent(value -> schema.setMinimum(BigDecimal.valueOf(value)));
+    private void populateSchema(final @NonNull PropertyModel property, final @NonNull Schema<?> schema) {
+	final PropertyAnnotations annotations = property.getAnnotations();
+	ValidationUtils.getMaxValue(annotations).ifPresent(value -> schema.setMaximum(BigDecimal.valueOf(value)));
+	ValidationUtils.getMinValue(annotations).ifPresent(value -> schema.setMinimum(BigDecimal.valueOf(value)));
 
-	if (String.class.equals(pd.getPropertyType())) {
-	    PersistenceUtils.getColumnLength(pd).ifPresent(schema::setMaxLength);
-	    HibernateValidatorUtils.getLengthMin(pd).ifPresent(schema::setMinLength);
-	    HibernateValidatorUtils.getLengthMax(pd).ifPresent(schema::setMaxLength);
+	if (String.class.equals(property.getPropertyType())) {
+	    PersistenceUtils.getColumnLength(annotations).ifPresent(schema::setMaxLength);
+	    HibernateValidatorUtils.getLengthMin(annotations).ifPresent(schema::setMinLength);
+	    HibernateValidatorUtils.getLengthMax(annotations).ifPresent(schema::setMaxLength);
 	}
 
-	customAnnotationsHelper.populatePropertySchema(pd, schema);
+	customAnnotationsHelper.populatePropertySchema(annotations, schema);
     }
 
     private ObjectSchema toObjectSchema(final @NonNull ClassMappingMode mode, final @NonNull RequestType requestType,
@@ -300,21 +305,21 @@ public class EntityToSchemaMapper {
 	final String refName = classToRefResolver.getRefName(cls, mode, requestType);
 	objectSchema.setName(refName);
 
-	withBeanProperties(cls, pd -> {
-	    final Class<?> propertyType = pd.getPropertyType();
+	PropertyModel.of(cls).forEach(property -> {
+	    final Class<?> propertyType = property.getPropertyType();
 	    final boolean isCollection = propertyType.isArray() || Collection.class.isAssignableFrom(propertyType)
 		    || Map.class.isAssignableFrom(propertyType);
 
 	    final Optional<Boolean> nullable = isCollection && requestType != RequestType.RESPONSE
 		    ? Optional.of(Boolean.TRUE)
-		    : NullableUtils.getNullable(pd);
+		    : property.getNullable();
 
-	    if (mode == ClassMappingMode.INHERITANCE_CHILD && !pd.getReadMethod().getDeclaringClass().equals(cls)) {
+	    if (mode == ClassMappingMode.INHERITANCE_CHILD && !property.getDeclaringClass().equals(cls)) {
 		return;
 	    }
 
 	    if (isExposed.test(propertyType)
-		    || ReflectionUtils.getCollectionGenericTypeArgument(pd, 0).filter(isExposed).isPresent()) {
+		    || property.getCollectionGenericTypeArgument(0).filter(isExposed).isPresent()) {
 		switch (mode) {
 		case PROJECTION:
 		case DATA_ITEM:
@@ -327,19 +332,16 @@ public class EntityToSchemaMapper {
 		}
 	    }
 
-	    if (requestType != RequestType.PARAMETER && JacksonUtils.isJsonIgnore(pd)) {
+	    if (requestType != RequestType.PARAMETER && property.isJsonIgnore()) {
 		return;
 	    }
-	    if (requestType == RequestType.CREATE && (!PersistenceUtils.isColumnInsertable(pd)
-		    || !PersistenceUtils.isJoinColumnInsertable(pd) || HibernateUtils.isCreationTimestamp(pd))) {
+	    if (requestType == RequestType.CREATE && !property.isInsertable()) {
 		return;
 	    }
-	    if ((requestType == RequestType.UPDATE || requestType == RequestType.PATCH)
-		    && (!PersistenceUtils.isColumnUpdatable(pd) || !PersistenceUtils.isJoinColumnUpdatable(pd)
-			    || HibernateUtils.isUpdateTimestamp(pd))) {
+	    if ((requestType == RequestType.UPDATE || requestType == RequestType.PATCH) && !property.isUpdatable()) {
 		return;
 	    }
-	    if (requestType != RequestType.RESPONSE && HibernateUtils.isFormula(pd)) {
+	    if (requestType != RequestType.RESPONSE && property.isFormula()) {
 		return;
 	    }
 
@@ -350,21 +352,21 @@ public class EntityToSchemaMapper {
 	    case RESPONSE:
 		if (JacksonUtils.nullIncludedInJson(cls).orElse(false)) {
 		    // field will always present in response, but may be null
-		    objectSchema.addRequiredItem(pd.getName());
+		    objectSchema.addRequiredItem(property.getName());
 		}
 		break;
 	    case CREATE:
 	    case UPDATE:
-		if (!nullable.orElse(false) && !isGeneratedValue(pd) && !HibernateUtils.isFormula(pd))
-		    objectSchema.addRequiredItem(pd.getName());
+		if (!nullable.orElse(false) && !property.isGeneratedByPersistence() && !property.isFormula())
+		    objectSchema.addRequiredItem(property.getName());
 		break;
 	    }
 
 	    final Optional<Boolean> dstNullable;
 	    switch (requestType) {
 	    case RESPONSE:
-		dstNullable = OptionalUtils.allTrue(nullable, Optional.of(!PersistenceUtils.isEmbeddedId(pd)),
-			Optional.of(!isGeneratedValue(pd)), Optional.of(!PersistenceUtils.isId(pd)),
+		dstNullable = OptionalUtils.allTrue(nullable, Optional.of(!property.isEmbeddedId()),
+			Optional.of(!property.isGeneratedByPersistence()), Optional.of(!property.isId()),
 			JacksonUtils.nullIncludedInJson(cls), Optional.of(!isCollection));
 		break;
 	    case CREATE:
@@ -376,17 +378,17 @@ public class EntityToSchemaMapper {
 		break;
 	    }
 
-	    Schema<?> schema = toSchema(mode, requestType, Optional.of(pd), propertyType, dstNullable);
+	    Schema<?> schema = toSchema(mode, requestType, Optional.of(property), propertyType, dstNullable);
 	    if (schema.get$ref() == null) {
-		populateSchema(pd, schema);
+		populateSchema(property, schema);
 	    }
-	    objectSchema.addProperties(pd.getName(), schema);
+	    objectSchema.addProperties(property.getName(), schema);
 	});
 	return objectSchema;
     }
 
-    public Schema<?> toSchema(final @NonNull ClassMappingMode mode, final @NonNull RequestType requestType,
-	    final Optional<PropertyDescriptor> opPd, final @NonNull Class<?> propertyType,
+    Schema<?> toSchema(final @NonNull ClassMappingMode mode, final @NonNull RequestType requestType,
+	    final Optional<PropertyModel> opProperty, final @NonNull Class<?> propertyType,
 	    final @NonNull Optional<Boolean> nullable) {
 	if (propertyType.isEnum()) {
 	    return classToRefResolver.getRefSchema(propertyType, ClassMappingMode.DATA_ITEM, requestType);
@@ -409,8 +411,8 @@ public class EntityToSchemaMapper {
 
 	if (Collection.class.isAssignableFrom(propertyType)) {
 	    final @NonNull Optional<Class<?>> itemType = OptionalUtils.coalesce(
-		    opPd.flatMap(PersistenceUtils::getElementCollectionTargetClass),
-		    opPd.flatMap(pd -> ReflectionUtils.getCollectionGenericTypeArgument(pd, 0)),
+		    opProperty.flatMap(PropertyModel::getElementCollectionTargetClass),
+		    opProperty.flatMap(property -> property.getCollectionGenericTypeArgument(0)),
 		    Optional.of(ANY_VALUE_CLASS));
 	    if (itemType.isPresent()) {
 		final ArraySchema schema = new ArraySchema();
@@ -423,8 +425,8 @@ public class EntityToSchemaMapper {
 
 	if (Map.class.isAssignableFrom(propertyType)) {
 	    final @NonNull Optional<Class<?>> itemType = OptionalUtils.coalesce(
-		    opPd.flatMap(PersistenceUtils::getElementCollectionTargetClass),
-		    opPd.flatMap(pd -> ReflectionUtils.getCollectionGenericTypeArgument(pd, 1)));
+		    opProperty.flatMap(PropertyModel::getElementCollectionTargetClass),
+		    opProperty.flatMap(property -> property.getCollectionGenericTypeArgument(1)));
 	    final ObjectSchema schema = new ObjectSchema();
 	    if (itemType.isPresent()) {
 		schema.setAdditionalProperties(
@@ -446,8 +448,8 @@ public class EntityToSchemaMapper {
 	    return schema;
 	}
 
-	final Optional<Supplier<Schema<?>>> standardSchemaSupplier = StandardSchemasProvider.getStandardSchemaSupplier(
-		propertyType, taskProperties.isAddXJavaClassName(), taskProperties.isAddXJavaComparable());
+	final Optional<Supplier<Schema<?>>> standardSchemaSupplier = standardSchemasProvider
+		.getStandardSchemaSupplier(propertyType);
 	if (standardSchemaSupplier.isPresent()) {
 	    final Schema<?> schema = standardSchemaSupplier.get().get();
 	    nullable.ifPresent(schema::setNullable);
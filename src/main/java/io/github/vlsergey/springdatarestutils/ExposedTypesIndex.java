@@ -0,0 +1,59 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+import org.springframework.data.repository.core.RepositoryMetadata;
+
+import static java.util.stream.Collectors.toSet;
+
+import io.github.vlsergey.springdatarestutils.CodebaseScannerFacade.ScanResult;
+import lombok.NonNull;
+
+/**
+ * Tests if class is exposed via repository, i.e. is domain type of some
+ * repository or its subtype. Result is computed once per class by walking its
+ * supertypes, instead of checking every repository.
+ */
+class ExposedTypesIndex implements Predicate<Class<?>> {
+
+    private final @NonNull ConcurrentMap<Class<?>, Boolean> cache = new ConcurrentHashMap<>();
+
+    private final @NonNull Set<Class<?>> domainTypes;
+
+    ExposedTypesIndex(final @NonNull ScanResult scanResult) {
+	this.domainTypes = scanResult.getRepositories().stream().map(RepositoryMetadata::getDomainType)
+		.collect(toSet());
+    }
+
+    private boolean isSubtypeOfDomainType(final @NonNull Class<?> cls) {
+	final Deque<Class<?>> queue = new ArrayDeque<>();
+	final Set<Class<?>> visited = new HashSet<>();
+	queue.add(cls);
+	while (!queue.isEmpty()) {
+	    final Class<?> current = queue.poll();
+	    if (!visited.add(current)) {
+		continue;
+	    }
+	    if (domainTypes.contains(current)) {
+		return true;
+	    }
+	    if (current.getSuperclass() != null) {
+		queue.add(current.getSuperclass());
+	    }
+	    queue.addAll(Arrays.asList(current.getInterfaces()));
+	}
+	return false;
+    }
+
+    @Override
+    public boolean test(final @NonNull Class<?> cls) {
+	if (domainTypes.isEmpty()) {
+	    return false;
+	}
+	return cache.computeIfAbsent(cls, this::isSubtypeOfDomainType).booleanValue();
+    }
+
+}
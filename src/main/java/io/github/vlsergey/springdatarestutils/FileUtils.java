@@ -0,0 +1,90 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import lombok.NonNull;
+
+class FileUtils {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static @NonNull byte[] digest(final @NonNull Path file) throws IOException {
+	final MessageDigest digest = sha256();
+	final byte[] buffer = new byte[BUFFER_SIZE];
+	try (InputStream in = Files.newInputStream(file)) {
+	    int read;
+	    while ((read = in.read(buffer)) != -1) {
+		digest.update(buffer, 0, read);
+	    }
+	}
+	return digest.digest();
+    }
+
+    /**
+     * Moves file atomically if supported by file system, replacing target
+     */
+    static void moveAtomically(final @NonNull Path source, final @NonNull Path target) throws IOException {
+	try {
+	    Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	} catch (AtomicMoveNotSupportedException exc) {
+	    Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+	}
+    }
+
+    /**
+     * @return new SHA-256 digest. Every JVM is required to support SHA-256.
+     */
+    static @NonNull MessageDigest sha256() {
+	try {
+	    return MessageDigest.getInstance("SHA-256");
+	} catch (NoSuchAlgorithmException exc) {
+	    throw new IllegalStateException("SHA-256 is not supported by JVM", exc);
+	}
+    }
+
+    /**
+     * Writes content into temporary file next to target and replaces target
+     * with it only if content differs, thus target file (and its modification
+     * time) stays untouched when content is the same.
+     *
+     * @return {@code true} if target file was (re)written
+     */
+    static boolean writeIfChanged(final @NonNull Path target, final @NonNull Consumer<OutputStream> writer)
+	    throws IOException {
+	final Path absoluteTarget = target.toAbsolutePath();
+	// File.createTempFile() (unlike Files.createTempFile()) keeps default permissions
+	final Path tempFile = File.createTempFile("." + absoluteTarget.getFileName(), ".tmp",
+		absoluteTarget.getParent().toFile()).toPath();
+	try {
+	    final MessageDigest digest = sha256();
+	    try (OutputStream out = new BufferedOutputStream(
+		    new DigestOutputStream(Files.newOutputStream(tempFile), digest), BUFFER_SIZE)) {
+		writer.accept(out);
+	    }
+
+	    if (Files.isRegularFile(absoluteTarget) && Files.size(absoluteTarget) == Files.size(tempFile)
+		    && Arrays.equals(digest(absoluteTarget), digest.digest())) {
+		return false;
+	    }
+
+	    moveAtomically(tempFile, absoluteTarget);
+	    return true;
+	} finally {
+	    Files.deleteIfExists(tempFile);
+	}
+    }
+
+}
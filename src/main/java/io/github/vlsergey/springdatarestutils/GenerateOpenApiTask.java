@@ -0,0 +1,176 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileType;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.OutputFiles;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.SneakyThrows;
+
+/**
+ * Generates OpenAPI specification (and additional ones, see
+ * {@link TaskProperties#getSpecs()}) from JPA repositories. All values that
+ * affect the result are declared as task inputs, so Gradle can skip the task
+ * when nothing changed and can reuse results from the build cache.
+ */
+@CacheableTask
+public abstract class GenerateOpenApiTask extends DefaultTask {
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    /**
+     * Compiled classes of the project. Runtime normalization is used (instead of
+     * ABI one) because generator reads annotations of private fields. Changes
+     * of classes are passed to generator to regenerate only affected schemas.
+     */
+    @Classpath
+    @Incremental
+    public abstract ConfigurableFileCollection getClassesDirs();
+
+    @Classpath
+    public abstract ConfigurableFileCollection getCompileClasspath();
+
+    /**
+     * Dependencies of generated schemas on classes, kept for incremental
+     * regeneration. State is verified against output file before use, thus not
+     * declared as output.
+     */
+    @Internal
+    public abstract RegularFileProperty getIncrementalStateFile();
+
+    @OutputFile
+    public abstract RegularFileProperty getOutput();
+
+    @Input
+    public abstract Property<String> getProjectDisplayName();
+
+    @Input
+    public abstract Property<String> getProjectVersion();
+
+    /**
+     * Timings of generation phases. Differs on every run and shall not be
+     * restored from build cache, thus not declared as output.
+     */
+    @Internal
+    public abstract RegularFileProperty getReportFile();
+
+    /**
+     * JSON-serialized {@link TaskProperties} without output location (it is
+     * declared separately as {@link #getOutput()})
+     */
+    @Input
+    public abstract Property<String> getSettings();
+
+    /**
+     * Incremental state files of additional specifications by name, see
+     * {@link #getIncrementalStateFile()}
+     */
+    @Internal
+    public abstract MapProperty<String, File> getSpecIncrementalStateFiles();
+
+    /**
+     * Outputs of additional specifications by name
+     */
+    @OutputFiles
+    public abstract MapProperty<String, File> getSpecOutputs();
+
+    /**
+     * Directory to cache classpath scan results between runs. Does not affect
+     * the result, thus not declared as input.
+     */
+    @Internal
+    public abstract DirectoryProperty getScanCacheDir();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    /**
+     * How to isolate generator from Gradle classes: {@code CLASSLOADER} or
+     * {@code PROCESS}
+     */
+    @Internal
+    public abstract Property<String> getWorkerIsolation();
+
+    private List<String> getChangedClasses(final InputChanges inputChanges) {
+	final List<String> result = new ArrayList<>();
+	for (FileChange change : inputChanges.getFileChanges(getClassesDirs())) {
+	    final String path = change.getNormalizedPath();
+	    // removed files have MISSING type
+	    if (change.getFileType() != FileType.DIRECTORY && path.endsWith(CLASS_FILE_SUFFIX)) {
+		result.add(path.substring(0, path.length() - CLASS_FILE_SUFFIX.length()).replace('/', '.'));
+	    }
+	}
+	return result;
+    }
+
+    @TaskAction
+    @SneakyThrows
+    public void generate(final InputChanges inputChanges) {
+	final TaskProperties taskProperties = new ObjectMapper().readValue(getSettings().get(), TaskProperties.class)
+		.setChangedClasses(inputChanges.isIncremental() ? getChangedClasses(inputChanges) : null) //
+		.setIncrementalStateUri(getIncrementalStateFile().isPresent()
+			? getIncrementalStateFile().getAsFile().get().toURI().toString()
+			: null) //
+		.setOutputUri(getOutput().getAsFile().get().toURI().toString()) //
+		.setReportUri(getReportFile().isPresent() ? getReportFile().getAsFile().get().toURI().toString() : null) //
+		.setScanCacheUri(getScanCacheDir().isPresent() ? getScanCacheDir().getAsFile().get().toURI().toString()
+			: null);
+
+	final Map<String, File> specIncrementalStateFiles = getSpecIncrementalStateFiles().get();
+	final Map<String, File> specOutputs = getSpecOutputs().get();
+	taskProperties.getSpecs().forEach((name, spec) -> spec //
+		.setChangedClasses(taskProperties.getChangedClasses()) //
+		.setIncrementalStateUri(specIncrementalStateFiles.containsKey(name)
+			? specIncrementalStateFiles.get(name).toURI().toString()
+			: null) //
+		.setOutputUri(specOutputs.get(name).toURI().toString()));
+
+	final String settings = new ObjectMapper().writeValueAsString(taskProperties);
+
+	final WorkQueue workQueue;
+	switch (getWorkerIsolation().get()) {
+	case "CLASSLOADER":
+	    workQueue = getWorkerExecutor().classLoaderIsolation(
+		    spec -> spec.getClasspath().from(getCompileClasspath(), getClassesDirs()));
+	    break;
+	case "PROCESS":
+	    workQueue = getWorkerExecutor()
+		    .processIsolation(spec -> spec.getClasspath().from(getCompileClasspath(), getClassesDirs()));
+	    break;
+	default:
+	    throw new IllegalArgumentException("Unsupported worker isolation mode: " + getWorkerIsolation().get());
+	}
+
+	workQueue.submit(ToOpenApiAction.class, parameters -> {
+	    parameters.getProjectDisplayName().set(getProjectDisplayName());
+	    parameters.getProjectVersion().set(getProjectVersion());
+	    parameters.getSettings().set(settings);
+	    parameters.getSubmitTimeMillis().set(System.currentTimeMillis());
+	});
+    }
+
+}
@@ -0,0 +1,74 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.util.Optional;
+
+import lombok.NonNull;
+
+/**
+ * Hooks to emit JDK Flight Recorder events. JFR implementation is compiled for
+ * Java 11+ (see {@code src/jfr}) and loaded reflectively, older JVMs get no-op
+ * implementation. Events are created only when they are enabled in active
+ * recording, otherwise {@link Scope#NOOP} is returned.
+ */
+interface GenerationEvents {
+
+    /**
+     * Event in progress, committed when closed
+     */
+    @FunctionalInterface
+    interface Scope extends AutoCloseable {
+
+	Scope NOOP = () -> {
+	};
+
+	@Override
+	void close();
+
+    }
+
+    String CLASSNAME_JFR_GENERATION_EVENTS = "io.github.vlsergey.springdatarestutils.JfrGenerationEvents";
+
+    GenerationEvents NOOP = new GenerationEvents() {
+	@Override
+	public @NonNull Scope mapEntity(final @NonNull Class<?> cls, final @NonNull ClassMappingMode mode,
+		final @NonNull RequestType requestType) {
+	    return Scope.NOOP;
+	}
+
+	@Override
+	public @NonNull Scope phase(final @NonNull String name) {
+	    return Scope.NOOP;
+	}
+
+	@Override
+	public @NonNull Scope repositoryPaths(final @NonNull Class<?> repositoryInterface,
+		final @NonNull Class<?> domainType) {
+	    return Scope.NOOP;
+	}
+    };
+
+    GenerationEvents INSTANCE = load();
+
+    static @NonNull GenerationEvents load() {
+	final Optional<Class<? extends GenerationEvents>> jfrEvents = ReflectionUtils
+		.findClass(CLASSNAME_JFR_GENERATION_EVENTS);
+	if (!jfrEvents.isPresent()) {
+	    return NOOP;
+	}
+	try {
+	    return jfrEvents.get().getDeclaredConstructor().newInstance();
+	} catch (Exception | LinkageError exc) {
+	    return NOOP;
+	}
+    }
+
+    @NonNull
+    Scope mapEntity(@NonNull Class<?> cls, @NonNull ClassMappingMode mode, @NonNull RequestType requestType);
+
+    @NonNull
+    Scope phase(@NonNull String name);
+
+    @NonNull
+    Scope repositoryPaths(@NonNull Class<?> repositoryInterface, @NonNull Class<?> domainType);
+
+}
@@ -0,0 +1,169 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URISyntaxException;
+
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.servers.Server;
+
+/**
+ * Properties of single specification: of main one ({@link PluginProperties})
+ * and of additional ones ({@link SpecProperties}).
+ */
+abstract class GenerationProperties {
+
+    public GenerationProperties() {
+	final TaskProperties defaults = new TaskProperties();
+
+	getAddXCustomAnnotations().convention(defaults.getAddXCustomAnnotations());
+	getAddXJavaComparable().convention(defaults.isAddXJavaComparable());
+	getAddXJavaClassName().convention(defaults.isAddXJavaClassName());
+	getAddXLinkedEntity().convention(defaults.isAddXLinkedEntity());
+	getBasePackage().convention(defaults.getBasePackage());
+	getBaseTypePrefix().convention(defaults.getBaseTypePrefix());
+	getCreateTypePrefix().convention(defaults.getCreateTypePrefix());
+	getCreateTypeSuffix().convention(defaults.getCreateTypeSuffix());
+	getDefaultTypeSuffix().convention(defaults.getDefaultTypeSuffix());
+	getEnumTypeSuffix().convention(defaults.getEnumTypeSuffix());
+	getInfo().convention(defaults.getInfo());
+	getLinkTypeName().convention(defaults.getLinkTypeName());
+	getLinksTypeSuffix().convention(defaults.getLinksTypeSuffix());
+	getParallelMapping().convention(defaults.isParallelMapping());
+	getPatchTypeSuffix().convention(defaults.getPatchTypeSuffix());
+	getRepositoryDetectionStrategy().convention(defaults.getRepositoryDetectionStrategy());
+	getOutput().convention(() -> {
+	    try {
+		return new File(new URI(defaults.getOutputUri()));
+	    } catch (URISyntaxException e) {
+		throw new RuntimeException(e);
+	    }
+	});
+	getServers().convention(defaults.getServers());
+	getTypeMappings().convention(defaults.getTypeMappings());
+	getUpdateTypePrefix().convention(defaults.getUpdateTypePrefix());
+	getUpdateTypeSuffix().convention(defaults.getUpdateTypeSuffix());
+	getWithLinksTypeSuffix().convention(defaults.getWithLinksTypeSuffix());
+	getWithProjectionsTypePrefix().convention(defaults.getWithProjectionsTypePrefix());
+	getWithProjectionsTypeSuffix().convention(defaults.getWithProjectionsTypeSuffix());
+    }
+
+    abstract ListProperty<String> getAddXCustomAnnotations();
+
+    abstract Property<Boolean> getAddXJavaClassName();
+
+    abstract Property<Boolean> getAddXJavaComparable();
+
+    abstract Property<Boolean> getAddXLinkedEntity();
+
+    abstract Property<String> getBasePackage();
+
+    abstract Property<String> getBaseTypePrefix();
+
+    abstract Property<String> getCreateTypePrefix();
+
+    abstract Property<String> getCreateTypeSuffix();
+
+    abstract Property<String> getDefaultTypeSuffix();
+
+    abstract Property<String> getEnumTypeSuffix();
+
+    abstract RegularFileProperty getIncrementalStateFile();
+
+    abstract Property<Info> getInfo();
+
+    abstract Property<Integer> getLinkDepth();
+
+    abstract Property<String> getLinksTypeSuffix();
+
+    abstract Property<String> getLinkTypeName();
+
+    abstract RegularFileProperty getOutput();
+
+    abstract Property<Boolean> getParallelMapping();
+
+    abstract Property<String> getPatchTypeSuffix();
+
+    abstract Property<String> getRepositoryDetectionStrategy();
+
+    abstract ListProperty<Server> getServers();
+
+    abstract MapProperty<String, String> getTypeMappings();
+
+    abstract Property<String> getUpdateTypePrefix();
+
+    abstract Property<String> getUpdateTypeSuffix();
+
+    abstract Property<String> getWithLinksTypeSuffix();
+
+    abstract Property<String> getWithProjectionsTypePrefix();
+
+    abstract Property<String> getWithProjectionsTypeSuffix();
+
+    /**
+     * Uses values of other specification as conventions. Output and
+     * incremental state file are not inherited: they must differ between
+     * specifications.
+     */
+    void inheritFrom(final GenerationProperties parent) {
+	getAddXCustomAnnotations().convention(parent.getAddXCustomAnnotations());
+	getAddXJavaClassName().convention(parent.getAddXJavaClassName());
+	getAddXJavaComparable().convention(parent.getAddXJavaComparable());
+	getAddXLinkedEntity().convention(parent.getAddXLinkedEntity());
+	getBasePackage().convention(parent.getBasePackage());
+	getBaseTypePrefix().convention(parent.getBaseTypePrefix());
+	getCreateTypePrefix().convention(parent.getCreateTypePrefix());
+	getCreateTypeSuffix().convention(parent.getCreateTypeSuffix());
+	getDefaultTypeSuffix().convention(parent.getDefaultTypeSuffix());
+	getEnumTypeSuffix().convention(parent.getEnumTypeSuffix());
+	getInfo().convention(parent.getInfo());
+	getLinkDepth().convention(parent.getLinkDepth());
+	getLinksTypeSuffix().convention(parent.getLinksTypeSuffix());
+	getLinkTypeName().convention(parent.getLinkTypeName());
+	getParallelMapping().convention(parent.getParallelMapping());
+	getPatchTypeSuffix().convention(parent.getPatchTypeSuffix());
+	getRepositoryDetectionStrategy().convention(parent.getRepositoryDetectionStrategy());
+	getServers().convention(parent.getServers());
+	getTypeMappings().convention(parent.getTypeMappings());
+	getUpdateTypePrefix().convention(parent.getUpdateTypePrefix());
+	getUpdateTypeSuffix().convention(parent.getUpdateTypeSuffix());
+	getWithLinksTypeSuffix().convention(parent.getWithLinksTypeSuffix());
+	getWithProjectionsTypePrefix().convention(parent.getWithProjectionsTypePrefix());
+	getWithProjectionsTypeSuffix().convention(parent.getWithProjectionsTypeSuffix());
+    }
+
+    TaskProperties toTaskProperties() {
+	return new TaskProperties() //
+		.setAddXCustomAnnotations(getAddXCustomAnnotations().get()) //
+		.setAddXJavaClassName(getAddXJavaClassName().get()) //
+		.setAddXJavaComparable(getAddXJavaComparable().get()) //
+		.setAddXLinkedEntity(getAddXLinkedEntity().get()) //
+		.setBasePackage(getBasePackage().get()) //
+		.setBaseTypePrefix(getBaseTypePrefix().get()) //
+		.setCreateTypePrefix(getCreateTypePrefix().get()) //
+		.setCreateTypeSuffix(getCreateTypeSuffix().get()) //
+		.setDefaultTypeSuffix(getDefaultTypeSuffix().get()) //
+		.setEnumTypeSuffix(getEnumTypeSuffix().get()) //
+		.setInfo(getInfo().get()) //
+		.setLinksTypeSuffix(getLinksTypeSuffix().get()) //
+		.setLinkTypeName(getLinkTypeName().get()) //
+		.setParallelMapping(getParallelMapping().get()) //
+		.setPatchTypeSuffix(getPatchTypeSuffix().get()) //
+		.setOutputUri(getOutput().getAsFile().get().toURI().toString()) //
+		.setRepositoryDetectionStrategy(getRepositoryDetectionStrategy().get()) //
+		.setServers(getServers().get()) //
+		.setTypeMappings(getTypeMappings().get()) //
+		.setUpdateTypePrefix(getUpdateTypePrefix().get()) //
+		.setUpdateTypeSuffix(getUpdateTypeSuffix().get()) //
+		.setWithLinksTypeSuffix(getWithLinksTypeSuffix().get()) //
+		.setWithProjectionsTypePrefix(getWithProjectionsTypePrefix().get()) //
+		.setWithProjectionsTypeSuffix(getWithProjectionsTypeSuffix().get()) //
+	;
+    }
+
+}
@@ -0,0 +1,239 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Timings, allocations and item counts of generation phases, and time spent
+ * on mapping of every entity. Logged after generation and written as JSON
+ * report.
+ */
+@JsonPropertyOrder({ "totalMillis", "phaseMillisSummedAcrossSpecs", "phases", "slowestEntities" })
+@Slf4j
+class GenerationReport {
+
+    @AllArgsConstructor
+    @Getter
+    @JsonPropertyOrder({ "className", "millis" })
+    static class EntityTiming {
+	private final @NonNull String className;
+	private final double millis;
+    }
+
+    /**
+     * Phase of generation. Started by {@link GenerationReport#phase(String)}
+     * and finished when closed.
+     */
+    @Getter
+    @JsonPropertyOrder({ "name", "millis", "allocatedBytes", "items" })
+    static class Phase implements AutoCloseable {
+	/**
+	 * Bytes allocated by generating thread during phase (allocations of
+	 * parallel scan and mapping pools are not included), {@code -1} if not
+	 * supported by JVM
+	 */
+	private long allocatedBytes = -1;
+
+	/**
+	 * Number of items (classes, repositories, components, bytes) produced
+	 * by phase
+	 */
+	@Setter
+	private long items;
+
+	private long millis;
+
+	private final @NonNull String name;
+
+	@JsonIgnore
+	private final @NonNull GenerationEvents.Scope event;
+
+	@JsonIgnore
+	private final long startAllocatedBytes = currentThreadAllocatedBytes();
+
+	@JsonIgnore
+	private final long startNanos = System.nanoTime();
+
+	private Phase(final @NonNull String name, final @NonNull GenerationEvents.Scope event) {
+	    this.name = name;
+	    this.event = event;
+	}
+
+	@Override
+	public void close() {
+	    event.close();
+	    this.millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+	    final long allocatedBytesNow = currentThreadAllocatedBytes();
+	    if (startAllocatedBytes != -1 && allocatedBytesNow != -1) {
+		this.allocatedBytes = allocatedBytesNow - startAllocatedBytes;
+	    }
+	}
+    }
+
+    private static final int SLOWEST_ENTITIES_TO_REPORT = 10;
+
+    private final @NonNull ConcurrentMap<String, LongAdder> entityNanos = new ConcurrentHashMap<>();
+
+    /**
+     * Time of phases measured outside of generator, before report was created
+     */
+    private long externalMillis;
+
+    private volatile long finishNanos = -1;
+
+    @Getter
+    private final @NonNull List<Phase> phases = Collections.synchronizedList(new ArrayList<>());
+
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * @return bytes allocated by current thread so far, {@code -1} if not
+     *         supported by JVM
+     */
+    static long currentThreadAllocatedBytes() {
+	try {
+	    final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+	    if (threadMXBean instanceof com.sun.management.ThreadMXBean
+		    && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemoryEnabled()) {
+		return ((com.sun.management.ThreadMXBean) threadMXBean)
+			.getThreadAllocatedBytes(Thread.currentThread().getId());
+	    }
+	} catch (LinkageError | UnsupportedOperationException exc) {
+	    log.debug("Thread allocated bytes are not available: {}", exc.toString());
+	}
+	return -1;
+    }
+
+    /**
+     * Adds phase that was measured outside of generator (like worker startup)
+     */
+    void addPhase(final @NonNull String name, final long millis) {
+	final Phase phase = new Phase(name, GenerationEvents.Scope.NOOP);
+	phase.millis = millis;
+	phases.add(phase);
+	externalMillis += millis;
+    }
+
+    /**
+     * Stops wall clock of generation, shall be called once all specifications
+     * are rendered
+     */
+    void finish() {
+	if (finishNanos == -1) {
+	    finishNanos = System.nanoTime();
+	}
+    }
+
+    /**
+     * Phases of additional specifications are reported with {@code <spec>/}
+     * prefix and may run in parallel with phases of main one. This map sums
+     * time of phases with the same name across all specifications, thus
+     * (unlike {@link #getTotalMillis()}) may exceed wall clock time.
+     *
+     * @return phase names (without specification prefix) mapped to sum of
+     *         their time in all specifications
+     */
+    public @NonNull Map<String, Long> getPhaseMillisSummedAcrossSpecs() {
+	final Map<String, Long> result = new LinkedHashMap<>();
+	synchronized (phases) {
+	    for (Phase phase : phases) {
+		result.merge(phase.getName().substring(phase.getName().lastIndexOf('/') + 1), phase.getMillis(),
+			Long::sum);
+	    }
+	}
+	return result;
+    }
+
+    /**
+     * @return entities with longest total mapping time (in all modes and
+     *         request types)
+     */
+    public @NonNull List<EntityTiming> getSlowestEntities() {
+	return entityNanos.entrySet().stream()
+		.sorted(Comparator.<Map.Entry<String, LongAdder>>comparingLong(entry -> -entry.getValue().sum())
+			.thenComparing(Map.Entry::getKey))
+		.limit(SLOWEST_ENTITIES_TO_REPORT)
+		.map(entry -> new EntityTiming(entry.getKey(), entry.getValue().sum() / 1_000_000.0))
+		.collect(toList());
+    }
+
+    /**
+     * @return wall clock time from creation of report till
+     *         {@link #finish()} (or till now, if not finished yet), plus time
+     *         of phases measured outside of generator
+     */
+    public long getTotalMillis() {
+	final long endNanos = finishNanos != -1 ? finishNanos : System.nanoTime();
+	return externalMillis + TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos);
+    }
+
+    void logSummary() {
+	log.info("Generation took {} ms, phases (summed across specifications): {}", getTotalMillis(),
+		getPhaseMillisSummedAcrossSpecs().entrySet().stream()
+			.map(entry -> entry.getKey() + " " + entry.getValue() + " ms").collect(joining(", ")));
+	final List<EntityTiming> slowest = getSlowestEntities();
+	if (!slowest.isEmpty()) {
+	    log.info("Slowest entities to map: {}", slowest.stream()
+		    .map(timing -> String.format("%s %.1f ms", timing.getClassName(), timing.getMillis()))
+		    .collect(joining(", ")));
+	}
+    }
+
+    /**
+     * Starts phase (and JFR event for it), shall be used in try-with-resources
+     * block
+     */
+    @NonNull
+    Phase phase(final @NonNull String name) {
+	final Phase phase = new Phase(name, GenerationEvents.INSTANCE.phase(name));
+	phases.add(phase);
+	return phase;
+    }
+
+    /**
+     * Adds time spent to map component of entity. Can be called concurrently.
+     */
+    void recordEntity(final @NonNull Class<?> cls, final long nanos) {
+	entityNanos.computeIfAbsent(cls.getName(), k -> new LongAdder()).add(nanos);
+    }
+
+    void write(final @NonNull File file) {
+	try {
+	    final File parent = file.getAbsoluteFile().getParentFile();
+	    if (parent != null) {
+		parent.mkdirs();
+	    }
+	    synchronized (phases) {
+		new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, this);
+	    }
+	} catch (IOException exc) {
+	    log.warn("Unable to write generation report {}: {}", file, exc.getMessage());
+	}
+    }
+
+}
@@ -0,0 +1,116 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.beans.Introspector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Makes sure nothing outside of generator classloader keeps its classes (and
+ * classes of project) reachable after generation. Gradle creates new
+ * classloader each time project classpath changes, and references left in JDK
+ * caches, shared libraries or long-living Gradle worker thread would keep old
+ * classloaders in daemon metaspace.
+ */
+@Slf4j
+class GeneratorTeardown {
+
+    private static final String GENERATOR_THREAD_NAME = "spring-data-rest-utils-generator";
+
+    private static final long POOL_TERMINATION_TIMEOUT_SECONDS = 10;
+
+    /**
+     * Flushes caches that may reference classes loaded during generation:
+     * {@link Introspector} caches, class values of generator, type and
+     * serializer caches of Jackson mappers.
+     */
+    static void releaseCaches() {
+	Introspector.flushCaches();
+
+	CustomAnnotationsHelper.releaseCache();
+	PropertyAnnotations.releaseCache();
+	PropertyModel.releaseCache();
+
+	releaseCaches(Json.mapper());
+	releaseCaches(Yaml.mapper());
+	TypeFactory.defaultInstance().clearCache();
+    }
+
+    private static void releaseCaches(final @NonNull ObjectMapper mapper) {
+	mapper.getTypeFactory().clearCache();
+	final SerializerProvider serializerProvider = mapper.getSerializerProvider();
+	if (serializerProvider instanceof DefaultSerializerProvider) {
+	    ((DefaultSerializerProvider) serializerProvider).flushCachedSerializers();
+	}
+    }
+
+    /**
+     * Runs action in dedicated thread with specified context classloader and
+     * releases caches afterwards. Thread locals set by libraries during
+     * generation (like Jackson buffer recyclers) die with this thread instead of
+     * staying in Gradle worker thread.
+     */
+    static void run(final @NonNull ClassLoader contextClassLoader, final @NonNull Callable<?> action)
+	    throws Exception {
+	final AtomicReference<Throwable> failure = new AtomicReference<>();
+	final Thread thread = new Thread(() -> {
+	    try {
+		action.call();
+	    } catch (Throwable exc) {
+		failure.set(exc);
+	    } finally {
+		// Introspector caches are per thread group, thus are flushed from
+		// generator thread
+		releaseCaches();
+	    }
+	}, GENERATOR_THREAD_NAME);
+	thread.setContextClassLoader(contextClassLoader);
+	thread.start();
+	try {
+	    thread.join();
+	} catch (InterruptedException exc) {
+	    thread.interrupt();
+	    throw exc;
+	}
+
+	final Throwable exc = failure.get();
+	if (exc instanceof Exception) {
+	    throw (Exception) exc;
+	}
+	if (exc instanceof Error) {
+	    throw (Error) exc;
+	}
+	if (exc != null) {
+	    throw new RuntimeException(exc);
+	}
+    }
+
+    /**
+     * Shuts pool down and waits for its threads to terminate: idle threads keep
+     * context classloader (and access control context) of thread that created
+     * them.
+     */
+    static void shutdownAndAwait(final @NonNull ExecutorService pool) {
+	pool.shutdown();
+	try {
+	    if (!pool.awaitTermination(POOL_TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+		log.warn("Threads of pool {} are not terminated in {} seconds", pool,
+			POOL_TERMINATION_TIMEOUT_SECONDS);
+	    }
+	} catch (InterruptedException exc) {
+	    Thread.currentThread().interrupt();
+	}
+    }
+
+}
@@ -1,6 +1,5 @@
 package io.github.vlsergey.springdatarestutils;
 
-import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.util.Optional;
 
@@ -16,16 +15,16 @@ class HibernateUtils {
     static final Optional<Class<? extends Annotation>> CLASS_UPDATE_TIMESTAMP = ReflectionUtils
 	    .findClass(CLASSNAME_UPDATE_TIMESTAMP);
 
-    static boolean isCreationTimestamp(final PropertyDescriptor pd) {
-	return ReflectionUtils.hasAnnotationOnReadMethodOfField(CLASS_CREATION_TIMESTAMP, pd);
+    static boolean isCreationTimestamp(final PropertyAnnotations annotations) {
+	return annotations.has(CLASS_CREATION_TIMESTAMP);
     }
 
-    static boolean isFormula(final PropertyDescriptor pd) {
-	return ReflectionUtils.hasAnnotationOnReadMethodOfField(CLASS_FORMULA, pd);
+    static boolean isFormula(final PropertyAnnotations annotations) {
+	return annotations.has(CLASS_FORMULA);
     }
 
-    static boolean isUpdateTimestamp(final PropertyDescriptor pd) {
-	return ReflectionUtils.hasAnnotationOnReadMethodOfField(CLASS_UPDATE_TIMESTAMP, pd);
+    static boolean isUpdateTimestamp(final PropertyAnnotations annotations) {
+	return annotations.has(CLASS_UPDATE_TIMESTAMP);
     }
 
 }
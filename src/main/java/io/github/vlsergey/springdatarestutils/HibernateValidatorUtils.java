@@ -1,6 +1,5 @@
 package io.github.vlsergey.springdatarestutils;
 
-import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Optional;
@@ -18,13 +17,13 @@ class HibernateValidatorUtils {
     private static final Optional<Method> METHOD_LENGTH_MIN = CLASS_LENGTH
 	    .flatMap(cls -> ReflectionUtils.findMethod(cls, "min"));
 
-    static Optional<Integer> getLengthMax(final @NonNull PropertyDescriptor pd) {
-	return ReflectionUtils.findAnnotationValue(CLASS_LENGTH, METHOD_LENGTH_MAX, pd, int.class)
+    static Optional<Integer> getLengthMax(final @NonNull PropertyAnnotations annotations) {
+	return annotations.findValue(CLASS_LENGTH, METHOD_LENGTH_MAX, int.class)
 		.map(value -> value.intValue() == Integer.MAX_VALUE ? null : value);
     }
 
-    static Optional<Integer> getLengthMin(final @NonNull PropertyDescriptor pd) {
-	return ReflectionUtils.findAnnotationValue(CLASS_LENGTH, METHOD_LENGTH_MIN, pd, int.class)
+    static Optional<Integer> getLengthMin(final @NonNull PropertyAnnotations annotations) {
+	return annotations.findValue(CLASS_LENGTH, METHOD_LENGTH_MIN, int.class)
 		.map(value -> value.intValue() <= 0 ? null : value);
     }
 
@@ -0,0 +1,307 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+import org.apache.commons.lang3.tuple.Triple;
+
+import static java.util.Collections.emptyMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.github.vlsergey.springdatarestutils.CodebaseScannerFacade.ScanResult;
+import io.github.vlsergey.springdatarestutils.IncrementalState.ComponentKey;
+import io.github.vlsergey.springdatarestutils.IncrementalState.ComponentState;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.media.Schema;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reuses schema components of previous run that do not depend on changed
+ * classes. Reused components are taken from previous output file, and their
+ * references are replayed into {@link SchemaWorklist}, so the set and order of
+ * components are the same as for full regeneration. Paths are always
+ * regenerated.
+ */
+@Slf4j
+class IncrementalRegeneration {
+
+    private final @NonNull ClassLoader classLoader;
+
+    private final @NonNull Set<Triple<Class<?>, ClassMappingMode, RequestType>> reused = ConcurrentHashMap
+	    .newKeySet();
+
+    private final @NonNull List<ComponentState> newComponents = new ArrayList<>();
+
+    private final @NonNull File outputFile;
+
+    private final @NonNull ObjectMapper outputMapper;
+
+    /**
+     * Components of previous run that can be reused, with their schemas as
+     * found in previous output
+     */
+    private final @NonNull Map<ComponentKey, Map.Entry<ComponentState, JsonNode>> previous;
+
+    private final @NonNull ProjectionHelper projectionHelper;
+
+    private final @NonNull ScanResult scanResult;
+
+    private final @NonNull File stateFile;
+
+    private final @NonNull String structureHash;
+
+    private final @NonNull TaskProperties taskProperties;
+
+    IncrementalRegeneration(final @NonNull TaskProperties taskProperties, final @NonNull ScanResult scanResult,
+	    final @NonNull ProjectionHelper projectionHelper, final @NonNull File outputFile,
+	    final @NonNull File stateFile) {
+	this.classLoader = Thread.currentThread().getContextClassLoader();
+	this.outputFile = outputFile;
+	this.outputMapper = outputFile.getName().endsWith(".json") ? Json.mapper() : Yaml.mapper();
+	this.projectionHelper = projectionHelper;
+	this.scanResult = scanResult;
+	this.stateFile = stateFile;
+	this.structureHash = structureHash(taskProperties, scanResult);
+	this.taskProperties = taskProperties;
+	this.previous = loadPrevious();
+    }
+
+    private static void addType(final @NonNull Set<String> result, final @Nullable Class<?> cls) {
+	if (cls == null || cls.isPrimitive()) {
+	    return;
+	}
+	if (cls.isArray()) {
+	    addType(result, cls.getComponentType());
+	    return;
+	}
+	if (!cls.getName().startsWith("java.")) {
+	    result.add(cls.getName());
+	}
+    }
+
+    private static void addWithSuperTypes(final @NonNull Set<String> result, final @Nullable Class<?> cls) {
+	if (cls == null || cls.isPrimitive() || cls.getName().startsWith("java.")) {
+	    return;
+	}
+	if (cls.isArray()) {
+	    addWithSuperTypes(result, cls.getComponentType());
+	    return;
+	}
+	if (!result.add(cls.getName())) {
+	    return;
+	}
+	addWithSuperTypes(result, cls.getSuperclass());
+	for (Class<?> superInterface : cls.getInterfaces()) {
+	    addWithSuperTypes(result, superInterface);
+	}
+    }
+
+    @SneakyThrows
+    private static @NonNull String structureHash(final @NonNull TaskProperties taskProperties,
+	    final @NonNull ScanResult scanResult) {
+	final ObjectMapper objectMapper = new ObjectMapper();
+	final ObjectNode settings = objectMapper.valueToTree(taskProperties);
+	settings.remove("changedClasses");
+	settings.remove("specs");
+
+	final List<String> structure = new ArrayList<>();
+	structure.add(objectMapper.writeValueAsString(settings));
+	scanResult.getRepositories()
+		.forEach(meta -> structure.add("repository:" + meta.getRepositoryInterface().getName() + ":"
+			+ meta.getDomainType().getName() + ":" + meta.getIdType().getName()));
+	scanResult.getProjections().forEach(projection -> structure.add("projection:" + projection.getName() + ":"
+		+ SpringDataUtils.getProjectionName(projection).orElse("") + ":"
+		+ SpringDataUtils.getProjectionTypes(projection).map(Arrays::toString).orElse("")));
+	scanResult.getInheritance().forEach((root, children) -> children
+		.forEach(child -> structure.add("inheritance:" + root.getName() + ":" + child.getName())));
+	scanResult.getQueryMethodsCandidates().forEach(method -> structure.add("query:" + method.toGenericString()));
+	Collections.sort(structure);
+
+	final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+	for (String line : structure) {
+	    digest.update(line.getBytes(StandardCharsets.UTF_8));
+	    digest.update((byte) '\n');
+	}
+	final StringBuilder result = new StringBuilder();
+	for (byte b : digest.digest()) {
+	    result.append(String.format("%02x", b));
+	}
+	return result.toString();
+    }
+
+    private static @NonNull ComponentKey toComponentKey(
+	    final @NonNull Triple<Class<?>, ClassMappingMode, RequestType> key) {
+	return new ComponentKey(key.getLeft().getName(), key.getMiddle(), key.getRight());
+    }
+
+    /**
+     * @return names of classes that are used to build component (except
+     *         referenced components): class itself and its supertypes, types
+     *         of its properties and annotations on them, projections and
+     *         inheritance hierarchy members
+     */
+    private @NonNull SortedSet<String> dependenciesOf(final @NonNull Class<?> cls) {
+	final Set<String> result = new LinkedHashSet<>();
+	addWithSuperTypes(result, cls);
+
+	if (!cls.isArray() && !cls.isEnum() && !cls.isPrimitive()) {
+	    for (PropertyModel property : PropertyModel.of(cls)) {
+		addType(result, property.getPropertyType());
+		property.getElementCollectionTargetClass().ifPresent(type -> addType(result, type));
+		for (int i = 0; i < 2; i++) {
+		    property.getCollectionGenericTypeArgument(i).ifPresent(type -> addType(result, type));
+		}
+		for (Annotation annotation : property.getAnnotations().getReadMethodAnnotations()) {
+		    addType(result, annotation.annotationType());
+		}
+		for (Annotation annotation : property.getAnnotations().getInheritedFieldAnnotations()) {
+		    addType(result, annotation.annotationType());
+		}
+	    }
+	}
+
+	projectionHelper.getProjections(cls).values().forEach(projection -> addWithSuperTypes(result, projection));
+	scanResult.getInheritance().getOrDefault(cls, Collections.emptySortedSet())
+		.forEach(child -> addWithSuperTypes(result, child));
+	addWithSuperTypes(result, scanResult.getInheritanceRoots().get(cls));
+	return new TreeSet<>(result);
+    }
+
+    private @NonNull Map<ComponentKey, Map.Entry<ComponentState, JsonNode>> loadPrevious() {
+	final List<String> changedClasses = taskProperties.getChangedClasses();
+	if (changedClasses == null) {
+	    log.info("Full regeneration: changed classes are unknown");
+	    return emptyMap();
+	}
+
+	final Optional<IncrementalState> opState = IncrementalState.read(stateFile);
+	if (!opState.isPresent()) {
+	    log.info("Full regeneration: no state of previous run found");
+	    return emptyMap();
+	}
+	final IncrementalState state = opState.get();
+	if (!structureHash.equals(state.getStructureHash())) {
+	    log.info("Full regeneration: settings, repositories, projections or inheritance were changed");
+	    return emptyMap();
+	}
+	if (!outputFile.isFile() || outputFile.length() != state.getOutputLength()
+		|| outputFile.lastModified() != state.getOutputLastModified()) {
+	    log.info("Full regeneration: output file was changed since previous run");
+	    return emptyMap();
+	}
+
+	final JsonNode schemas;
+	try {
+	    schemas = outputMapper.readTree(outputFile).path("components").path("schemas");
+	} catch (IOException exc) {
+	    log.info("Full regeneration: unable to read previous output: {}", exc.getMessage());
+	    return emptyMap();
+	}
+
+	final Set<String> changed = new HashSet<>(changedClasses);
+	final Map<ComponentKey, Map.Entry<ComponentState, JsonNode>> result = new HashMap<>();
+	for (ComponentState component : state.getComponents()) {
+	    if (component.getDependencies().stream().anyMatch(changed::contains)) {
+		continue;
+	    }
+	    final JsonNode schema = schemas.get(component.getName());
+	    if (schema != null) {
+		result.put(component.getKey(), new AbstractMap.SimpleImmutableEntry<>(component, schema));
+	    }
+	}
+	log.info("Incremental regeneration: {} changed classes, {} of {} components can be reused",
+		changedClasses.size(), result.size(), state.getComponents().size());
+	return result;
+    }
+
+    /**
+     * Stores dependencies and references of component to be saved in state
+     * file. Shall be called in the same order as components are added to
+     * specification.
+     */
+    void record(final @NonNull Triple<Class<?>, ClassMappingMode, RequestType> key,
+	    final @NonNull List<Triple<Class<?>, ClassMappingMode, RequestType>> references) {
+	final ComponentKey componentKey = toComponentKey(key);
+
+	final ComponentState component = new ComponentState();
+	component.setKey(componentKey);
+	component.setName(
+		ClassToRefResolver.generateName(taskProperties, key.getLeft(), key.getMiddle(), key.getRight()));
+	if (reused.contains(key)) {
+	    component.setDependencies(previous.get(componentKey).getKey().getDependencies());
+	    component.setReused(true);
+	} else {
+	    component.setDependencies(dependenciesOf(key.getLeft()));
+	}
+	references.forEach(reference -> component.getReferences().add(toComponentKey(reference)));
+	newComponents.add(component);
+    }
+
+    /**
+     * @return schema of component from previous run if it is not affected by
+     *         changed classes. References of reused component are registered
+     *         in worklist.
+     */
+    @NonNull
+    Optional<Schema<?>> reuse(final @NonNull Triple<Class<?>, ClassMappingMode, RequestType> key,
+	    final @NonNull SchemaWorklist worklist) {
+	final Map.Entry<ComponentState, JsonNode> entry = previous.get(toComponentKey(key));
+	if (entry == null) {
+	    return Optional.empty();
+	}
+
+	final List<Class<?>> referencedClasses = new ArrayList<>();
+	for (ComponentKey reference : entry.getKey().getReferences()) {
+	    try {
+		referencedClasses.add(Class.forName(reference.getClassName(), false, classLoader));
+	    } catch (ClassNotFoundException | LinkageError exc) {
+		return Optional.empty();
+	    }
+	}
+
+	final Schema<?> schema;
+	try {
+	    schema = outputMapper.treeToValue(entry.getValue(), Schema.class);
+	} catch (IOException exc) {
+	    log.debug("Unable to reuse schema of {}: {}", key, exc.getMessage());
+	    return Optional.empty();
+	}
+
+	for (int i = 0; i < referencedClasses.size(); i++) {
+	    final ComponentKey reference = entry.getKey().getReferences().get(i);
+	    worklist.reference(referencedClasses.get(i), reference.getMode(), reference.getRequestType());
+	}
+	reused.add(key);
+	return Optional.of(schema);
+    }
+
+    /**
+     * Saves state for next run. Shall be called after output file is written.
+     */
+    void save() {
+	final IncrementalState state = new IncrementalState();
+	state.setComponents(newComponents);
+	state.setOutputLastModified(outputFile.lastModified());
+	state.setOutputLength(outputFile.length());
+	state.setStructureHash(structureHash);
+	state.write(stateFile);
+
+	if (!previous.isEmpty()) {
+	    log.info("Reused {} of {} components", reused.size(), newComponents.size());
+	}
+    }
+
+}
@@ -0,0 +1,103 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Information about previous generation run that is required to regenerate
+ * only components affected by changed classes. Stored as JSON file between
+ * runs.
+ */
+@Data
+@Slf4j
+class IncrementalState {
+
+    @AllArgsConstructor
+    @Data
+    @NoArgsConstructor
+    static class ComponentKey {
+	private String className;
+	private ClassMappingMode mode;
+	private RequestType requestType;
+    }
+
+    @Data
+    static class ComponentState {
+	/**
+	 * Names of classes that were used to build component schema (except
+	 * referenced components)
+	 */
+	private SortedSet<String> dependencies = new TreeSet<>();
+	private ComponentKey key;
+	/**
+	 * Name of component in specification
+	 */
+	private String name;
+	/**
+	 * Components referenced from component schema, in order of references
+	 */
+	private List<ComponentKey> references = new ArrayList<>();
+	/**
+	 * Whether component schema was taken from output of previous run
+	 */
+	private boolean reused;
+    }
+
+    static final int FORMAT_VERSION = 1;
+
+    /**
+     * Components in order they were added to specification
+     */
+    private List<ComponentState> components = new ArrayList<>();
+
+    private int formatVersion = FORMAT_VERSION;
+
+    private long outputLastModified;
+
+    private long outputLength;
+
+    /**
+     * Hash of settings and scan result. Any change of them requires full
+     * regeneration.
+     */
+    private String structureHash;
+
+    static @NonNull Optional<IncrementalState> read(final @NonNull File file) {
+	if (!file.isFile()) {
+	    return Optional.empty();
+	}
+	try {
+	    final IncrementalState state = new ObjectMapper().readValue(file, IncrementalState.class);
+	    return state.getFormatVersion() == FORMAT_VERSION ? Optional.of(state) : Optional.empty();
+	} catch (IOException exc) {
+	    log.debug("Unable to read incremental state file {}: {}", file, exc.getMessage());
+	    return Optional.empty();
+	}
+    }
+
+    void write(final @NonNull File file) {
+	try {
+	    final File parent = file.getAbsoluteFile().getParentFile();
+	    if (parent != null) {
+		parent.mkdirs();
+	    }
+	    new ObjectMapper().writeValue(file, this);
+	} catch (IOException exc) {
+	    log.warn("Unable to write incremental state file {}: {}", file, exc.getMessage());
+	}
+    }
+
+}
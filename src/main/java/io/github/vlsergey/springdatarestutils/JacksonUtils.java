@@ -1,6 +1,5 @@
 package io.github.vlsergey.springdatarestutils;
 
-import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Optional;
@@ -46,8 +45,8 @@ class JacksonUtils {
 		.map(Enum::name);
     }
 
-    static boolean isJsonIgnore(PropertyDescriptor pd) {
-	return ReflectionUtils.findAnnotationValue(CLASS_JSON_IGNORE, METHOD_JSON_IGNORE_VALUE, pd, boolean.class)
+    static boolean isJsonIgnore(final PropertyAnnotations annotations) {
+	return annotations.findValue(CLASS_JSON_IGNORE, METHOD_JSON_IGNORE_VALUE, boolean.class)
 		.orElse(false);
     }
 
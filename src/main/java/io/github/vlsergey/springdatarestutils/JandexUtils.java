@@ -0,0 +1,61 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+
+import static java.util.stream.Collectors.toList;
+
+import lombok.NonNull;
+
+/**
+ * Reads class file headers from precomputed
+ * <a href="https://github.com/smallrye/jandex">Jandex</a> index
+ * ({@code META-INF/jandex.idx}) instead of reading every class file of JAR.
+ */
+class JandexUtils {
+
+    static final String INDEX_ENTRY_NAME = "META-INF/jandex.idx";
+
+    /**
+     * @param packagePath only classes of this package (and subpackages) are
+     *                    returned, {@code null} for all classes
+     * @throws IOException if index is malformed or has unsupported version
+     */
+    static @NonNull List<ClassFileHeader> readHeaders(final @NonNull InputStream in,
+	    final @Nullable String packagePath) throws IOException {
+	final Index index = new IndexReader(in).read();
+
+	final List<ClassFileHeader> result = new ArrayList<>();
+	for (ClassInfo classInfo : index.getKnownClasses()) {
+	    final String name = classInfo.name().toString();
+	    if (!ClassPathIndex.isClassFileToScan(name.replace('.', '/') + ".class", packagePath)) {
+		continue;
+	    }
+
+	    final Set<String> annotations = new LinkedHashSet<>();
+	    for (AnnotationInstance annotation : classInfo.classAnnotations()) {
+		annotations.add(annotation.name().toString());
+	    }
+	    final List<String> interfaces = classInfo.interfaceNames().stream().map(DotName::toString)
+		    .collect(toList());
+	    final DotName superName = classInfo.superName();
+
+	    result.add(new ClassFileHeader(classInfo.flags() & 0xFFFF, annotations, interfaces, name,
+		    superName == null ? null : superName.toString()));
+	}
+	return result;
+    }
+
+}
@@ -1,22 +1,18 @@
 package io.github.vlsergey.springdatarestutils;
 
-import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.Optional;
 
 import javax.annotation.Nullable;
 
-import org.springframework.util.ReflectionUtils;
-
 import lombok.NonNull;
 import lombok.SneakyThrows;
 
 class NullableUtils {
 
     @SneakyThrows
-    private static @Nullable Boolean getNullable(@NonNull Annotation[] annotations) {
+    private static @Nullable Boolean getNullable(final @NonNull Collection<Annotation> annotations) {
 	for (Annotation ann : annotations) {
 	    final String name = ann.annotationType().getName();
 	    final String lcName = name.toLowerCase();
@@ -31,31 +27,23 @@ class NullableUtils {
 	return null;
     }
 
-    static Optional<Boolean> getNullable(PropertyDescriptor pd) {
-	if (pd.getPropertyType().isPrimitive()) {
+    static Optional<Boolean> getNullable(final @NonNull PropertyAnnotations annotations) {
+	if (annotations.getDescriptor().getPropertyType().isPrimitive()) {
 	    return Optional.of(Boolean.FALSE);
 	}
 
 	// TODO: will be nice to check if results are compatible
 	return OptionalUtils.coalesce( //
-		PersistenceUtils.getBasicOptional(pd), //
-		PersistenceUtils.getColumnNullable(pd), //
-		PersistenceUtils.getJoinColumnNullable(pd), //
-		getNullableAnnotationPresent(pd));
+		PersistenceUtils.getBasicOptional(annotations), //
+		PersistenceUtils.getColumnNullable(annotations), //
+		PersistenceUtils.getJoinColumnNullable(annotations), //
+		getNullableAnnotationPresent(annotations));
     }
 
-    static Optional<Boolean> getNullableAnnotationPresent(final @NonNull PropertyDescriptor pd) {
-	final Method readMethod = pd.getReadMethod();
-	Boolean result = null;
-
-	if (readMethod != null) {
-	    result = getNullable(readMethod.getAnnotations());
-	    if (result == null) {
-		Field field = ReflectionUtils.findField(readMethod.getDeclaringClass(), pd.getName());
-		if (field != null) {
-		    result = getNullable(field.getAnnotations());
-		}
-	    }
+    static Optional<Boolean> getNullableAnnotationPresent(final @NonNull PropertyAnnotations annotations) {
+	Boolean result = getNullable(annotations.getReadMethodAnnotations());
+	if (result == null) {
+	    result = getNullable(annotations.getInheritedFieldAnnotations());
 	}
 	return Optional.ofNullable(result);
     }
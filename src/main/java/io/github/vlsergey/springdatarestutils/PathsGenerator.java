@@ -1,8 +1,5 @@
 package io.github.vlsergey.springdatarestutils;
 
-import java.beans.BeanInfo;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -113,14 +110,18 @@ public class PathsGenerator {
 
 	StreamSupport.stream(metas.spliterator(), false)
 		.sorted(Comparator.comparing(meta -> meta.getDomainType().getName()))
-		.forEach(meta -> populatePathItems(meta, allQueryCandidates));
+		.forEach(meta -> {
+		    try (GenerationEvents.Scope event = GenerationEvents.INSTANCE
+			    .repositoryPaths(meta.getRepositoryInterface(), meta.getDomainType())) {
+			populatePathItems(meta, allQueryCandidates);
+		    }
+		});
     }
 
     private @NonNull String getIdPathParameterName(final @NonNull Class<?> domainType) {
 	final String enitityName = StringUtils.uncapitalize(domainType.getSimpleName());
-	return EntityToSchemaMapper.withBeanProperties(domainType)
-		.filter(pd -> PersistenceUtils.isEmbeddedId(pd) || PersistenceUtils.isId(pd))
-		.map(PropertyDescriptor::getName).findAny().orElse(enitityName + "Id");
+	return PropertyModel.of(domainType).stream().filter(property -> property.isEmbeddedId() || property.isId())
+		.map(PropertyModel::getName).findAny().orElse(enitityName + "Id");
     }
 
     private @NonNull Parameter getIdPathParameterRef(final @NonNull RepositoryMetadata repositoryMetadata) {
@@ -140,8 +141,7 @@ public class PathsGenerator {
     }
 
     private Optional<Supplier<Schema<?>>> getStandardSchemaSupplier(Class<?> cls) {
-	return StandardSchemasProvider.getStandardSchemaSupplier(cls, taskProperties.isAddXJavaClassName(),
-		taskProperties.isAddXJavaComparable());
+	return mapper.getStandardSchemasProvider().getStandardSchemaSupplier(cls);
     }
 
     public Schema<?> methodInOutsToSchema(Type type, Class<?> cls, RequestType requestType) {
@@ -204,13 +204,11 @@ public class PathsGenerator {
 	    final @NonNull Parameter idPathParameterRef, final @NonNull Class<?> bean, final @NonNull String basePath,
 	    final @NonNull Paths paths) {
 
-	final BeanInfo beanInfo = Introspector.getBeanInfo(bean);
-
 	// expose additional methods to get linked entity by main entity ID
 
 	// expose one-to-one / many-to-one links
-	EntityToSchemaMapper.withBeanProperties(bean, pd -> {
-	    final Class<?> propertyType = pd.getPropertyType();
+	PropertyModel.of(bean).forEach(property -> {
+	    final Class<?> propertyType = property.getPropertyType();
 
 	    if (!isExposed.test(propertyType)) {
 		return;
@@ -232,7 +230,7 @@ public class PathsGenerator {
 		    .addParametersItem(idPathParameterRef) //
 		    .responses(withMissingResponse));
 
-	    if (NullableUtils.getNullable(pd).orElse(true)) {
+	    if (property.getNullable().orElse(true)) {
 		pathItem.delete(new Operation() //
 			.addTagsItem(tag) //
 			.addParametersItem(idPathParameterRef) //
@@ -240,13 +238,12 @@ public class PathsGenerator {
 				new ApiResponse().description("ok"))));
 	    }
 
-	    paths.addPathItem(basePath + "/" + pd.getName(), pathItem);
+	    paths.addPathItem(basePath + "/" + property.getName(), pathItem);
 	});
 
 	// expose one-to-many / many-to-many links
-	EntityToSchemaMapper.withBeanProperties(bean, pd -> {
-	    final Optional<Class<?>> opLinkedType = ReflectionUtils.getCollectionGenericTypeArgument(pd, 0)
-		    .filter(isExposed);
+	PropertyModel.of(bean).forEach(property -> {
+	    final Optional<Class<?>> opLinkedType = property.getCollectionGenericTypeArgument(0).filter(isExposed);
 	    if (!opLinkedType.isPresent())
 		return;
 
@@ -299,13 +296,13 @@ public class PathsGenerator {
 			    .addApiResponse(RESPONSE_CODE_NOT_FOUND,
 				    new ApiResponse().description("Entity is missing"))));
 
-	    paths.addPathItem(basePath + "/" + pd.getName(), pathItem);
+	    paths.addPathItem(basePath + "/" + property.getName(), pathItem);
 
 	    String linkedEntityIdParamName = bean.equals(linkedType)
 		    ? "linked" + StringUtils.capitalize(getIdPathParameterName(linkedType))
 		    : getIdPathParameterName(linkedType);
 
-	    paths.addPathItem(basePath + "/" + pd.getName() + "/{" + linkedEntityIdParamName + "}",
+	    paths.addPathItem(basePath + "/" + property.getName() + "/{" + linkedEntityIdParamName + "}",
 		    new PathItem().delete(new Operation() //
 			    .addTagsItem(tag) //
 			    .description("Unbinds the association") //
@@ -336,8 +333,8 @@ public class PathsGenerator {
 
     @SneakyThrows
     private void populateOperationWithPredicate(@NonNull RepositoryMetadata meta, final @NonNull Operation operation) {
-	EntityToSchemaMapper.withBeanProperties(meta.getDomainType(), pd -> {
-	    final Class<?> propertyType = pd.getPropertyType();
+	PropertyModel.of(meta.getDomainType()).forEach(property -> {
+	    final Class<?> propertyType = property.getPropertyType();
 
 	    getStandardSchemaSupplier(propertyType).ifPresent(schemaSupplier -> {
 		final Schema<?> singleItemSchema = schemaSupplier.get();
@@ -346,7 +343,7 @@ public class PathsGenerator {
 		final Schema<?> oneOfSchema = new ComposedSchema().addOneOfItem(singleItemSchema)
 			.addOneOfItem(arraySchema);
 
-		final Parameter parameter = new Parameter().explode(Boolean.TRUE).in(IN_QUERY).name(pd.getName())
+		final Parameter parameter = new Parameter().explode(Boolean.TRUE).in(IN_QUERY).name(property.getName())
 			.required(Boolean.FALSE).schema(oneOfSchema).style(Parameter.StyleEnum.FORM);
 		operation.addParametersItem(parameter);
 	    });
@@ -1,6 +1,5 @@
 package io.github.vlsergey.springdatarestutils;
 
-import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -61,21 +60,21 @@ class PersistenceUtils {
     private static final Optional<Method> METHOD_JOIN_COLUMN_UPDATABLE = CLASS_JOIN_COLUMN
 	    .flatMap(cls -> ReflectionUtils.findMethod(cls, "updatable"));
 
-    static Optional<Boolean> getBasicOptional(final PropertyDescriptor pd) {
-	return ReflectionUtils.findAnnotationValue(CLASS_BASIC, METHOD_BASIC_OPTIONAL, pd, boolean.class);
+    static Optional<Boolean> getBasicOptional(final PropertyAnnotations annotations) {
+	return annotations.findValue(CLASS_BASIC, METHOD_BASIC_OPTIONAL, boolean.class);
     }
 
-    static Optional<Integer> getColumnLength(PropertyDescriptor pd) {
-	return ReflectionUtils.findAnnotationValue(CLASS_COLUMN, METHOD_COLUMN_LENGTH, pd, int.class);
+    static Optional<Integer> getColumnLength(final PropertyAnnotations annotations) {
+	return annotations.findValue(CLASS_COLUMN, METHOD_COLUMN_LENGTH, int.class);
     }
 
-    static String getColumnName(PropertyDescriptor pd) {
-	return ReflectionUtils.findAnnotationValue(CLASS_COLUMN, METHOD_COLUMN_NAME, pd, String.class)
-		.orElse(toColumnName(pd.getName()));
+    static String getColumnName(final PropertyAnnotations annotations) {
+	return annotations.findValue(CLASS_COLUMN, METHOD_COLUMN_NAME, String.class)
+		.orElse(toColumnName(annotations.getDescriptor().getName()));
     }
 
-    static Optional<Boolean> getColumnNullable(PropertyDescriptor pd) {
-	return ReflectionUtils.findAnnotationValue(CLASS_COLUMN, METHOD_COLUMN_NULLABLE, pd, boolean.class);
+    static Optional<Boolean> getColumnNullable(final PropertyAnnotations annotations) {
+	return annotations.findValue(CLASS_COLUMN, METHOD_COLUMN_NULLABLE, boolean.class);
     }
 
     static Optional<String> getDiscriminatorColumnName(Class<?> cls) {
@@ -89,54 +88,54 @@ class PersistenceUtils {
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
-    static Optional<Class<?>> getElementCollectionTargetClass(PropertyDescriptor pd) {
-	return (Optional) ReflectionUtils
-		.findAnnotationValue(CLASS_ELEMENT_COLLECTION, METHOD_ELEMENT_COLLECTION_TARGET_CLASS, pd, Class.class)
+    static Optional<Class<?>> getElementCollectionTargetClass(final PropertyAnnotations annotations) {
+	return (Optional) annotations
+		.findValue(CLASS_ELEMENT_COLLECTION, METHOD_ELEMENT_COLLECTION_TARGET_CLASS, Class.class)
 		.filter(cls -> !void.class.equals(cls));
     }
 
-    static Optional<Boolean> getJoinColumnNullable(PropertyDescriptor pd) {
-	return ReflectionUtils.findAnnotationValue(CLASS_JOIN_COLUMN, METHOD_JOIN_COLUMN_NULLABLE, pd, boolean.class);
+    static Optional<Boolean> getJoinColumnNullable(final PropertyAnnotations annotations) {
+	return annotations.findValue(CLASS_JOIN_COLUMN, METHOD_JOIN_COLUMN_NULLABLE, boolean.class);
     }
 
-    static boolean isColumnInsertable(PropertyDescriptor pd) {
-	return ReflectionUtils.findAnnotationValue(CLASS_COLUMN, METHOD_COLUMN_INSERTABLE, pd, boolean.class)
+    static boolean isColumnInsertable(final PropertyAnnotations annotations) {
+	return annotations.findValue(CLASS_COLUMN, METHOD_COLUMN_INSERTABLE, boolean.class)
 		.orElse(true);
     }
 
-    static boolean isColumnUpdatable(PropertyDescriptor pd) {
-	return ReflectionUtils.findAnnotationValue(CLASS_COLUMN, METHOD_COLUMN_UPDATABLE, pd, boolean.class)
+    static boolean isColumnUpdatable(final PropertyAnnotations annotations) {
+	return annotations.findValue(CLASS_COLUMN, METHOD_COLUMN_UPDATABLE, boolean.class)
 		.orElse(true);
     }
 
-    static boolean isElementCollection(final PropertyDescriptor pd) {
-	return ReflectionUtils.hasAnnotationOnReadMethodOfField(CLASS_ELEMENT_COLLECTION, pd);
+    static boolean isElementCollection(final PropertyAnnotations annotations) {
+	return annotations.has(CLASS_ELEMENT_COLLECTION);
     }
 
-    static boolean isEmbeddedId(final PropertyDescriptor pd) {
-	return ReflectionUtils.hasAnnotationOnReadMethodOfField(CLASS_EMBEDDED_ID, pd);
+    static boolean isEmbeddedId(final PropertyAnnotations annotations) {
+	return annotations.has(CLASS_EMBEDDED_ID);
     }
 
-    static boolean isGeneratedValue(final PropertyDescriptor pd) {
-	return ReflectionUtils.hasAnnotationOnReadMethodOfField(CLASS_GENERATED_VALUE, pd);
+    static boolean isGeneratedValue(final PropertyAnnotations annotations) {
+	return annotations.has(CLASS_GENERATED_VALUE);
     }
 
-    static boolean isId(final PropertyDescriptor pd) {
-	return ReflectionUtils.hasAnnotationOnReadMethodOfField(CLASS_ID, pd);
+    static boolean isId(final PropertyAnnotations annotations) {
+	return annotations.has(CLASS_ID);
     }
 
-    static boolean isJoinColumnInsertable(PropertyDescriptor pd) {
-	return ReflectionUtils.findAnnotationValue(CLASS_JOIN_COLUMN, METHOD_JOIN_COLUMN_INSERTABLE, pd, boolean.class)
+    static boolean isJoinColumnInsertable(final PropertyAnnotations annotations) {
+	return annotations.findValue(CLASS_JOIN_COLUMN, METHOD_JOIN_COLUMN_INSERTABLE, boolean.class)
 		.orElse(true);
     }
 
-    static boolean isJoinColumnUpdatable(PropertyDescriptor pd) {
-	return ReflectionUtils.findAnnotationValue(CLASS_JOIN_COLUMN, METHOD_JOIN_COLUMN_UPDATABLE, pd, boolean.class)
+    static boolean isJoinColumnUpdatable(final PropertyAnnotations annotations) {
+	return annotations.findValue(CLASS_JOIN_COLUMN, METHOD_JOIN_COLUMN_UPDATABLE, boolean.class)
 		.orElse(true);
     }
 
-    static boolean isTransient(final PropertyDescriptor pd) {
-	return ReflectionUtils.hasAnnotationOnReadMethodOfField(CLASS_TRANSIENT, pd);
+    static boolean isTransient(final PropertyAnnotations annotations) {
+	return annotations.has(CLASS_TRANSIENT);
     }
 
     private static boolean isUnderscoreRequired(char before, char current, char after) {
@@ -1,8 +1,25 @@
 package io.github.vlsergey.springdatarestutils;
 
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
-import org.gradle.api.Task;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+
+import static java.util.stream.Collectors.toList;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class PluginImpl implements Plugin<Project> {
 
@@ -10,10 +27,100 @@ public class PluginImpl implements Plugin<Project> {
     public void apply(Project project) {
 	final PluginProperties ownConfig = project.getExtensions().create("springdatarestutils",
 		PluginProperties.class);
+	ownConfig.getIncrementalStateFile().convention(
+		project.getLayout().getBuildDirectory().file("springdatarestutils/incremental-state.json"));
+	ownConfig.getReportFile().convention(ownConfig.getOutput()
+		.<RegularFile>map(output -> () -> toReportFile(output.getAsFile())));
+	ownConfig.getScanCacheDir()
+		.convention(project.getLayout().getBuildDirectory().dir("springdatarestutils/scan-cache"));
+	ownConfig.getSpecs().configureEach(spec -> {
+	    spec.inheritFrom(ownConfig);
+	    spec.getIncrementalStateFile().convention(project.getLayout().getBuildDirectory()
+		    .file("springdatarestutils/incremental-state-" + spec.getName() + ".json"));
+	    spec.getOutput().convention(ownConfig.getOutput()
+		    .<RegularFile>map(output -> () -> toSpecOutputFile(output.getAsFile(), spec.getName())));
+	});
+
+	project.getTasks().register("generateOpenAPIForSpringDataREST", GenerateOpenApiTask.class,
+		(GenerateOpenApiTask task) -> {
+		    task.dependsOn((Callable<?>) () -> getSourceSet(project, ownConfig).getClassesTaskName());
+
+		    task.getCompileClasspath().from((Callable<?>) () -> filterClasspath(
+			    getSourceSet(project, ownConfig).getCompileClasspath(), ownConfig));
+		    task.getClassesDirs()
+			    .from((Callable<?>) () -> getSourceSet(project, ownConfig).getOutput().getClassesDirs());
+
+		    task.getProjectDisplayName().set(project.provider(project::getDisplayName));
+		    task.getProjectVersion().set(project.provider(() -> project.getVersion().toString()));
+		    task.getSettings().set(project.provider(() -> new ObjectMapper()
+			    .writeValueAsString(ownConfig.toTaskProperties().setOutputUri(null))));
+		    task.getIncrementalStateFile().set(ownConfig.getIncrementalStateFile());
+		    task.getOutput().set(ownConfig.getOutput());
+		    task.getReportFile().set(ownConfig.getReportFile());
+		    task.getScanCacheDir().set(ownConfig.getScanCacheDir());
+		    task.getSpecIncrementalStateFiles().set(project.provider(
+			    () -> toSpecFiles(ownConfig, GenerationProperties::getIncrementalStateFile)));
+		    task.getSpecOutputs()
+			    .set(project.provider(() -> toSpecFiles(ownConfig, GenerationProperties::getOutput)));
+		    task.getWorkerIsolation().set(ownConfig.getWorkerIsolation());
+		});
+    }
+
+    private static FileCollection filterClasspath(FileCollection classpath, PluginProperties ownConfig) {
+	final List<PathMatcher> includes = toMatchers(ownConfig.getClasspathIncludes().get());
+	final List<PathMatcher> excludes = toMatchers(ownConfig.getClasspathExcludes().get());
+	return classpath
+		.filter(file -> (includes.isEmpty() || matchesAny(includes, file)) && !matchesAny(excludes, file));
+    }
+
+    private static SourceSet getSourceSet(Project project, PluginProperties ownConfig) {
+	return getSourceSets(project).getByName(ownConfig.getSourceSet().get());
+    }
 
-	project.task("generateOpenAPIForSpringDataREST", (Task task) -> {
-	    task.dependsOn(":compileJava");
-	    task.doLast(new ToOpenApiAction(project, ownConfig));
+    private static SourceSetContainer getSourceSets(Project project) {
+	return project.getConvention().getByType(SourceSetContainer.class);
+    }
+
+    private static boolean matchesAny(List<PathMatcher> matchers, File file) {
+	return matchers.stream().anyMatch(matcher -> matcher.matches(file.toPath().getFileName()));
+    }
+
+    /**
+     * @return file next to output, like {@code api.report.json} for
+     *         {@code api.yaml}
+     */
+    private static File toReportFile(File output) {
+	final String name = output.getName();
+	final int extension = name.lastIndexOf('.');
+	return new File(output.getParentFile(), (extension > 0 ? name.substring(0, extension) : name) + ".report.json");
+    }
+
+    private static Map<String, File> toSpecFiles(PluginProperties ownConfig,
+	    Function<SpecProperties, RegularFileProperty> property) {
+	final Map<String, File> result = new LinkedHashMap<>();
+	ownConfig.getSpecs().forEach(spec -> {
+	    if (property.apply(spec).isPresent()) {
+		result.put(spec.getName(), property.apply(spec).getAsFile().get());
+	    }
 	});
+	return result;
     }
+
+    /**
+     * @return file next to output with the same extension, like
+     *         {@code api-public.yaml} for {@code api.yaml} and specification
+     *         {@code public}
+     */
+    private static File toSpecOutputFile(File output, String specName) {
+	final String name = output.getName();
+	final int extension = name.lastIndexOf('.');
+	return new File(output.getParentFile(), extension > 0
+		? name.substring(0, extension) + "-" + specName + name.substring(extension)
+		: name + "-" + specName);
+    }
+
+    private static List<PathMatcher> toMatchers(List<String> globs) {
+	return globs.stream().map(glob -> FileSystems.getDefault().getPathMatcher("glob:" + glob)).collect(toList());
+    }
+
 }
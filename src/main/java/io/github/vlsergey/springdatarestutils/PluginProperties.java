@@ -1,121 +1,84 @@
 package io.github.vlsergey.springdatarestutils;
 
-import java.io.File;
-import java.net.URI;
-import java.net.URISyntaxException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import javax.inject.Inject;
+
+import org.gradle.api.Action;
+import org.gradle.api.NamedDomainObjectContainer;
+import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.SourceSet;
 
-import io.swagger.v3.oas.models.info.Info;
-import io.swagger.v3.oas.models.servers.Server;
-
-abstract class PluginProperties {
-
-    public PluginProperties() {
-	final TaskProperties defaults = new TaskProperties();
-
-	getAddXCustomAnnotations().convention(defaults.getAddXCustomAnnotations());
-	getAddXJavaComparable().convention(defaults.isAddXJavaComparable());
-	getAddXJavaClassName().convention(defaults.isAddXJavaClassName());
-	getAddXLinkedEntity().convention(defaults.isAddXLinkedEntity());
-	getBasePackage().convention(defaults.getBasePackage());
-	getBaseTypePrefix().convention(defaults.getBaseTypePrefix());
-	getCreateTypePrefix().convention(defaults.getCreateTypePrefix());
-	getCreateTypeSuffix().convention(defaults.getCreateTypeSuffix());
-	getDefaultTypeSuffix().convention(defaults.getDefaultTypeSuffix());
-	getEnumTypeSuffix().convention(defaults.getEnumTypeSuffix());
-	getInfo().convention(defaults.getInfo());
-	getLinkTypeName().convention(defaults.getLinkTypeName());
-	getLinksTypeSuffix().convention(defaults.getLinksTypeSuffix());
-	getPatchTypeSuffix().convention(defaults.getPatchTypeSuffix());
-	getRepositoryDetectionStrategy().convention(defaults.getRepositoryDetectionStrategy());
-	getOutput().convention(() -> {
-	    try {
-		return new File(new URI(defaults.getOutputUri()));
-	    } catch (URISyntaxException e) {
-		throw new RuntimeException(e);
-	    }
-	});
-	getServers().convention(defaults.getServers());
-	getUpdateTypePrefix().convention(defaults.getUpdateTypePrefix());
-	getUpdateTypeSuffix().convention(defaults.getUpdateTypeSuffix());
-	getWithLinksTypeSuffix().convention(defaults.getWithLinksTypeSuffix());
-	getWithProjectionsTypePrefix().convention(defaults.getWithProjectionsTypePrefix());
-	getWithProjectionsTypeSuffix().convention(defaults.getWithProjectionsTypeSuffix());
-    }
-
-    abstract ListProperty<String> getAddXCustomAnnotations();
-
-    abstract Property<Boolean> getAddXJavaClassName();
-
-    abstract Property<Boolean> getAddXJavaComparable();
-
-    abstract Property<Boolean> getAddXLinkedEntity();
+import static java.util.Collections.emptyList;
 
-    abstract Property<String> getBasePackage();
+abstract class PluginProperties extends GenerationProperties {
 
-    abstract Property<String> getBaseTypePrefix();
+    private final NamedDomainObjectContainer<SpecProperties> specs;
 
-    abstract Property<String> getCreateTypePrefix();
-
-    abstract Property<String> getCreateTypeSuffix();
-
-    abstract Property<String> getDefaultTypeSuffix();
-
-    abstract Property<String> getEnumTypeSuffix();
-
-    abstract Property<Info> getInfo();
+    @Inject
+    public PluginProperties(final ObjectFactory objectFactory) {
+	final TaskProperties defaults = new TaskProperties();
 
-    abstract Property<Integer> getLinkDepth();
+	getParallelScan().convention(defaults.isParallelScan());
 
-    abstract Property<String> getLinksTypeSuffix();
+	getClasspathExcludes().convention(emptyList());
+	getClasspathIncludes().convention(emptyList());
+	getSourceSet().convention(SourceSet.MAIN_SOURCE_SET_NAME);
+	getWorkerIsolation().convention("CLASSLOADER");
 
-    abstract Property<String> getLinkTypeName();
+	this.specs = objectFactory.domainObjectContainer(SpecProperties.class);
+    }
 
-    abstract RegularFileProperty getOutput();
+    /**
+     * Glob patterns of compile classpath entry file names to exclude from
+     * generator classpath
+     */
+    abstract ListProperty<String> getClasspathExcludes();
 
-    abstract Property<String> getPatchTypeSuffix();
+    /**
+     * Glob patterns of compile classpath entry file names to include into
+     * generator classpath. All entries are included if empty.
+     */
+    abstract ListProperty<String> getClasspathIncludes();
 
-    abstract Property<String> getRepositoryDetectionStrategy();
+    abstract Property<Boolean> getParallelScan();
 
-    abstract ListProperty<Server> getServers();
+    abstract RegularFileProperty getReportFile();
 
-    abstract Property<String> getUpdateTypePrefix();
+    abstract DirectoryProperty getScanCacheDir();
 
-    abstract Property<String> getUpdateTypeSuffix();
+    /**
+     * Name of source set to generate specification from
+     */
+    abstract Property<String> getSourceSet();
 
-    abstract Property<String> getWithLinksTypeSuffix();
+    /**
+     * Additional specifications generated from the same classpath scan
+     */
+    NamedDomainObjectContainer<SpecProperties> getSpecs() {
+	return specs;
+    }
 
-    abstract Property<String> getWithProjectionsTypePrefix();
+    abstract Property<String> getWorkerIsolation();
 
-    abstract Property<String> getWithProjectionsTypeSuffix();
+    void specs(final Action<? super NamedDomainObjectContainer<SpecProperties>> action) {
+	action.execute(specs);
+    }
 
+    @Override
     TaskProperties toTaskProperties() {
-	return new TaskProperties() //
-		.setAddXCustomAnnotations(getAddXCustomAnnotations().get()) //
-		.setAddXJavaClassName(getAddXJavaClassName().get()) //
-		.setAddXJavaComparable(getAddXJavaComparable().get()) //
-		.setAddXLinkedEntity(getAddXLinkedEntity().get()) //
-		.setBasePackage(getBasePackage().get()) //
-		.setBaseTypePrefix(getBaseTypePrefix().get()) //
-		.setCreateTypePrefix(getCreateTypePrefix().get()) //
-		.setCreateTypeSuffix(getCreateTypeSuffix().get()) //
-		.setDefaultTypeSuffix(getDefaultTypeSuffix().get()) //
-		.setEnumTypeSuffix(getEnumTypeSuffix().get()) //
-		.setInfo(getInfo().get()) //
-		.setLinksTypeSuffix(getLinksTypeSuffix().get()) //
-		.setLinkTypeName(getLinkTypeName().get()) //
-		.setPatchTypeSuffix(getPatchTypeSuffix().get()) //
-		.setOutputUri(getOutput().getAsFile().get().toURI().toString()) //
-		.setRepositoryDetectionStrategy(getRepositoryDetectionStrategy().get()) //
-		.setServers(getServers().get()) //
-		.setUpdateTypePrefix(getUpdateTypePrefix().get()) //
-		.setUpdateTypeSuffix(getUpdateTypeSuffix().get()) //
-		.setWithLinksTypeSuffix(getWithLinksTypeSuffix().get()) //
-		.setWithProjectionsTypePrefix(getWithProjectionsTypePrefix().get()) //
-		.setWithProjectionsTypeSuffix(getWithProjectionsTypeSuffix().get()) //
+	final Map<String, TaskProperties> specsProperties = new LinkedHashMap<>();
+	// output is declared separately
+	specs.forEach(spec -> specsProperties.put(spec.getName(), spec.toTaskProperties().setOutputUri(null)));
+
+	return super.toTaskProperties() //
+		.setParallelScan(getParallelScan().get()) //
+		.setSpecs(specsProperties) //
 	;
     }
 
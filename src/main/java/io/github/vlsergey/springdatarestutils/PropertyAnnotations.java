@@ -0,0 +1,144 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Annotations of bean property read method and backing field, resolved once.
+ * Annotation attribute values are read once and memoized.
+ */
+class PropertyAnnotations {
+
+    private static final ReleasableClassValue<Map<String, Field>> DECLARED_FIELDS = new ReleasableClassValue<Map<String, Field>>() {
+	@Override
+	protected Map<String, Field> compute(Class<?> type) {
+	    final Map<String, Field> result = new HashMap<>();
+	    for (Field field : type.getDeclaredFields()) {
+		result.put(field.getName(), field);
+	    }
+	    return unmodifiableMap(result);
+	}
+    };
+
+    private final @NonNull Map<Class<? extends Annotation>, Annotation> declaredFieldAnnotations;
+
+    @Getter
+    private final @NonNull PropertyDescriptor descriptor;
+
+    /**
+     * Annotations of field with property name in declaring class of read method
+     * or its superclasses
+     */
+    private final @NonNull Map<Class<? extends Annotation>, Annotation> inheritedFieldAnnotations;
+
+    private final @NonNull Map<Class<? extends Annotation>, Annotation> readMethodAnnotations;
+
+    private final @NonNull ConcurrentMap<Method, Optional<Object>> values = new ConcurrentHashMap<>();
+
+    private PropertyAnnotations(final @NonNull PropertyDescriptor pd) {
+	this.descriptor = pd;
+
+	final Method readMethod = pd.getReadMethod();
+	if (readMethod == null) {
+	    this.readMethodAnnotations = emptyMap();
+	    this.declaredFieldAnnotations = emptyMap();
+	    this.inheritedFieldAnnotations = emptyMap();
+	    return;
+	}
+
+	this.readMethodAnnotations = toMap(readMethod.getAnnotations());
+
+	final Field declaredField = DECLARED_FIELDS.get(readMethod.getDeclaringClass()).get(pd.getName());
+	this.declaredFieldAnnotations = declaredField == null ? emptyMap() : toMap(declaredField.getAnnotations());
+
+	final Field inheritedField = declaredField != null ? declaredField
+		: findField(readMethod.getDeclaringClass().getSuperclass(), pd.getName());
+	this.inheritedFieldAnnotations = inheritedField == null ? emptyMap()
+		: inheritedField == declaredField ? declaredFieldAnnotations : toMap(inheritedField.getAnnotations());
+    }
+
+    static @NonNull PropertyAnnotations of(final @NonNull PropertyDescriptor pd) {
+	return new PropertyAnnotations(pd);
+    }
+
+    /**
+     * Removes cached declared fields of all classes
+     */
+    static void releaseCache() {
+	DECLARED_FIELDS.release();
+    }
+
+    private static @Nullable Field findField(final @Nullable Class<?> cls, final @NonNull String name) {
+	for (Class<?> current = cls; current != null; current = current.getSuperclass()) {
+	    final Field field = DECLARED_FIELDS.get(current).get(name);
+	    if (field != null) {
+		return field;
+	    }
+	}
+	return null;
+    }
+
+    private static @NonNull Map<Class<? extends Annotation>, Annotation> toMap(
+	    final @NonNull Annotation[] annotations) {
+	if (annotations.length == 0) {
+	    return emptyMap();
+	}
+	final Map<Class<? extends Annotation>, Annotation> result = new LinkedHashMap<>(annotations.length * 2);
+	for (Annotation annotation : annotations) {
+	    result.put(annotation.annotationType(), annotation);
+	}
+	return unmodifiableMap(result);
+    }
+
+    /**
+     * @return annotation of specified class on read method or (if missing) on
+     *         field declared in the same class as read method
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Annotation> @NonNull Optional<T> find(final @NonNull Class<T> annotationClass) {
+	final Annotation result = readMethodAnnotations.get(annotationClass);
+	return Optional.ofNullable((T) (result != null ? result : declaredFieldAnnotations.get(annotationClass)));
+    }
+
+    /**
+     * @return value of annotation attribute (obtained via specified method) if
+     *         annotation is present. Value is read only once.
+     */
+    @SuppressWarnings("unchecked")
+    <R> @NonNull Optional<R> findValue(final @NonNull Optional<Class<? extends Annotation>> opAnnotationClass,
+	    final @NonNull Optional<Method> opMethod, final @NonNull Class<R> resultClass) {
+	if (!opAnnotationClass.isPresent() || !opMethod.isPresent()) {
+	    return Optional.empty();
+	}
+	return (Optional<R>) values.computeIfAbsent(opMethod.get(), method -> find(opAnnotationClass.get())
+		.map(annotation -> ReflectionUtils.getOrNull(method, annotation, resultClass)));
+    }
+
+    @NonNull
+    Collection<Annotation> getInheritedFieldAnnotations() {
+	return inheritedFieldAnnotations.values();
+    }
+
+    @NonNull
+    Collection<Annotation> getReadMethodAnnotations() {
+	return readMethodAnnotations.values();
+    }
+
+    boolean has(final @NonNull Optional<Class<? extends Annotation>> opAnnotationClass) {
+	return opAnnotationClass.flatMap(this::find).isPresent();
+    }
+
+}
@@ -0,0 +1,168 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Collections.unmodifiableList;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Immutable model of bean property with precomputed generic type arguments and
+ * mapping-related flags. Models are built once per class (see {@link #of(Class)})
+ * and shared by all {@link ClassMappingMode} and {@link RequestType}
+ * combinations.
+ */
+@Getter
+class PropertyModel {
+
+    private static final ReleasableClassValue<List<PropertyModel>> CACHE = new ReleasableClassValue<List<PropertyModel>>() {
+	@Override
+	protected List<PropertyModel> compute(Class<?> type) {
+	    final List<PropertyModel> result = new ArrayList<>();
+	    EntityToSchemaMapper.withBeanProperties(type, pd -> result.add(new PropertyModel(pd)));
+	    return unmodifiableList(result);
+	}
+    };
+
+    /**
+     * Annotations of read method and field, for lookups not covered by flags
+     */
+    private final @NonNull PropertyAnnotations annotations;
+
+    private final boolean columnInsertable;
+
+    private final @NonNull String columnName;
+
+    private final boolean columnUpdatable;
+
+    private final boolean creationTimestamp;
+
+    /**
+     * Class that declares read method of property
+     */
+    private final @NonNull Class<?> declaringClass;
+
+    private final @NonNull PropertyDescriptor descriptor;
+
+    private final @NonNull Optional<Class<?>> elementCollectionTargetClass;
+
+    private final boolean embeddedId;
+
+    private final boolean formula;
+
+    private final boolean generatedValue;
+
+    private final boolean id;
+
+    private final boolean joinColumnInsertable;
+
+    private final boolean joinColumnUpdatable;
+
+    private final boolean jsonIgnore;
+
+    private final @NonNull Optional<Boolean> nullable;
+
+    /**
+     * Type arguments of generic property type. Only non-array classes are
+     * collected, {@code null} for other type arguments.
+     */
+    @Getter(AccessLevel.NONE)
+    private final @NonNull Class<?>[] typeArguments;
+
+    private final boolean updateTimestamp;
+
+    private PropertyModel(final @NonNull PropertyDescriptor pd) {
+	final PropertyAnnotations annotations = PropertyAnnotations.of(pd);
+
+	this.annotations = annotations;
+	this.columnInsertable = PersistenceUtils.isColumnInsertable(annotations);
+	this.columnName = PersistenceUtils.getColumnName(annotations);
+	this.columnUpdatable = PersistenceUtils.isColumnUpdatable(annotations);
+	this.creationTimestamp = HibernateUtils.isCreationTimestamp(annotations);
+	this.declaringClass = pd.getReadMethod().getDeclaringClass();
+	this.descriptor = pd;
+	this.elementCollectionTargetClass = PersistenceUtils.getElementCollectionTargetClass(annotations);
+	this.embeddedId = PersistenceUtils.isEmbeddedId(annotations);
+	this.formula = HibernateUtils.isFormula(annotations);
+	this.generatedValue = PersistenceUtils.isGeneratedValue(annotations);
+	this.id = PersistenceUtils.isId(annotations);
+	this.joinColumnInsertable = PersistenceUtils.isJoinColumnInsertable(annotations);
+	this.joinColumnUpdatable = PersistenceUtils.isJoinColumnUpdatable(annotations);
+	this.jsonIgnore = JacksonUtils.isJsonIgnore(annotations);
+	this.nullable = NullableUtils.getNullable(annotations);
+	this.typeArguments = resolveTypeArguments(pd);
+	this.updateTimestamp = HibernateUtils.isUpdateTimestamp(annotations);
+    }
+
+    /**
+     * @return models of bean properties of specified class, excluding transient
+     *         ones. For interface properties of super interfaces are included.
+     * @see EntityToSchemaMapper#withBeanProperties(Class,
+     *      java.util.function.Consumer)
+     */
+    static @NonNull List<PropertyModel> of(final @NonNull Class<?> cls) {
+	return CACHE.get(cls);
+    }
+
+    /**
+     * Removes cached models of all classes
+     */
+    static void releaseCache() {
+	CACHE.release();
+    }
+
+    private static @NonNull Class<?>[] resolveTypeArguments(final @NonNull PropertyDescriptor pd) {
+	final Optional<Type> genericType = ReflectionUtils.getGenericType(pd);
+	if (!genericType.isPresent() || !(genericType.get() instanceof ParameterizedType)) {
+	    return new Class<?>[0];
+	}
+
+	final Type[] actualTypeArguments = ((ParameterizedType) genericType.get()).getActualTypeArguments();
+	final Class<?>[] result = new Class<?>[actualTypeArguments.length];
+	for (int i = 0; i < actualTypeArguments.length; i++) {
+	    if (actualTypeArguments[i] instanceof Class && !((Class<?>) actualTypeArguments[i]).isArray()) {
+		result[i] = (Class<?>) actualTypeArguments[i];
+	    }
+	}
+	return result;
+    }
+
+    @NonNull
+    Optional<Class<?>> getCollectionGenericTypeArgument(final int index) {
+	return index < typeArguments.length ? Optional.ofNullable(typeArguments[index]) : Optional.empty();
+    }
+
+    @NonNull
+    String getName() {
+	return descriptor.getName();
+    }
+
+    @NonNull
+    Class<?> getPropertyType() {
+	return descriptor.getPropertyType();
+    }
+
+    /**
+     * @return {@code true} if value is assigned by persistence layer, not by
+     *         client
+     */
+    boolean isGeneratedByPersistence() {
+	return generatedValue || creationTimestamp || updateTimestamp;
+    }
+
+    boolean isInsertable() {
+	return columnInsertable && joinColumnInsertable && !creationTimestamp;
+    }
+
+    boolean isUpdatable() {
+	return columnUpdatable && joinColumnUpdatable && !updateTimestamp;
+    }
+
+}
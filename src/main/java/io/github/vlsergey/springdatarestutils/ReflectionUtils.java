@@ -1,11 +1,15 @@
 package io.github.vlsergey.springdatarestutils;
 
 import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.springframework.core.annotation.AnnotationUtils;
 
@@ -16,6 +20,19 @@ class ReflectionUtils {
 
     private static final Class<?>[] EMPTY_CLASSES = new Class[0];
 
+    private static final Optional<Object> UNSAFE = findClass("sun.misc.Unsafe").flatMap(cls -> {
+	try {
+	    final Field field = cls.getDeclaredField("theUnsafe");
+	    field.setAccessible(true);
+	    return Optional.ofNullable(field.get(null));
+	} catch (Exception | LinkageError exc) {
+	    return Optional.empty();
+	}
+    });
+
+    private static final Optional<Method> METHOD_UNSAFE_SHOULD_BE_INITIALIZED = UNSAFE
+	    .flatMap(unsafe -> findMethod(unsafe.getClass(), "shouldBeInitialized", Class.class));
+
     static <A extends Annotation> @NonNull Optional<A> findAnnotationMayBeOnClass(final @NonNull Class<A> annClass,
 	    final @NonNull Class<?> targetClass, final @NonNull Method method) {
 
@@ -32,38 +49,14 @@ class ReflectionUtils {
 	return Optional.ofNullable(a);
     }
 
-    static <T extends Annotation> Optional<T> findAnnotationOnReadMethodOfField(final @NonNull Class<T> cls,
-	    final @NonNull PropertyDescriptor pd) {
-	if (pd.getReadMethod() != null) {
-	    final T annotation = pd.getReadMethod().getAnnotation(cls);
-	    if (annotation != null) {
-		return Optional.of(annotation);
-	    }
-	}
-	try {
-	    final Field field = pd.getReadMethod().getDeclaringClass().getDeclaredField(pd.getName());
-	    final T annotation = field.getAnnotation(cls);
-	    if (annotation != null) {
-		return Optional.of(annotation);
-	    }
-	} catch (Exception exc) {
-	    // no field
-	}
-	return Optional.empty();
-    }
-
-    static <R> Optional<R> findAnnotationValue(final @NonNull Optional<Class<? extends Annotation>> opCls,
-	    final @NonNull Optional<Method> opMethod, final @NonNull PropertyDescriptor pd,
-	    final @NonNull Class<R> resultClass) {
-	return opCls.flatMap(cls -> findAnnotationOnReadMethodOfField(cls, pd))
-		.flatMap(ann -> opMethod.map(method -> ReflectionUtils.getOrNull(method, ann, resultClass)));
-    }
-
+    /**
+     * Finds class without initialization (static initializers are not run)
+     */
     @SuppressWarnings("unchecked")
     static <T> Optional<Class<? extends T>> findClass(String className) {
 	try {
-	    return Optional.of((Class<T>) Class.forName(className));
-	} catch (Exception exc) {
+	    return Optional.of((Class<T>) Class.forName(className, false, ReflectionUtils.class.getClassLoader()));
+	} catch (Exception | LinkageError exc) {
 	    return Optional.empty();
 	}
     }
@@ -117,27 +110,30 @@ class ReflectionUtils {
 	return findMethod(cls, methodName, EMPTY_CLASSES);
     }
 
+    /**
+     * Returns names of enum constants without initialization of enum class.
+     * Names are read from class file in declaration order, since order of
+     * {@link Class#getDeclaredFields()} is not specified. Declared fields are
+     * used only if class file is not available.
+     */
+    static @NonNull List<String> getEnumConstantNames(final @NonNull Class<?> enumClass) {
+	try (InputStream in = enumClass.getResourceAsStream("/" + enumClass.getName().replace('.', '/') + ".class")) {
+	    if (in != null) {
+		return ClassFileHeaderReader.readEnumConstants(ClassFileHeaderReader.readFully(in, -1));
+	    }
+	} catch (IOException exc) {
+	    // fall back to declared fields
+	}
+	return Arrays.stream(enumClass.getDeclaredFields()).filter(Field::isEnumConstant).map(Field::getName)
+		.collect(Collectors.toList());
+    }
+
     static <T> Optional<T> getAnnotationAttributeValue(AnnotatedElement annotated,
 	    Optional<Class<? extends Annotation>> opAnnClass, Optional<Method> opMethod, Class<T> resultClass) {
 	return opAnnClass.map(annotated::getAnnotation)
 		.flatMap(ann -> opMethod.map(method -> ReflectionUtils.getOrNull(method, ann, resultClass)));
     }
 
-    static @NonNull Optional<Class<?>> getCollectionGenericTypeArgument(final @NonNull PropertyDescriptor pd,
-	    final int index) {
-	return getGenericType(pd).map(type -> {
-	    try {
-		if (type instanceof ParameterizedType) {
-		    Type[] genericArguments = ((ParameterizedType) type).getActualTypeArguments();
-		    return Class.forName(genericArguments[index].getTypeName());
-		}
-	    } catch (ClassNotFoundException exc) {
-		// ignore
-	    }
-	    return null;
-	});
-    }
-
     static @NonNull Optional<Type> getGenericType(final @NonNull PropertyDescriptor pd) {
 	if (pd.getReadMethod() != null) {
 	    final Type result = pd.getReadMethod().getGenericReturnType();
@@ -173,10 +169,20 @@ class ReflectionUtils {
 	}
     }
 
-    static boolean hasAnnotationOnReadMethodOfField(
-	    final @NonNull Optional<Class<? extends Annotation>> annotationClass,
-	    final @NonNull PropertyDescriptor pd) {
-	return annotationClass.flatMap(cls -> findAnnotationOnReadMethodOfField(cls, pd)).isPresent();
+    /**
+     * @return if class was initialized (static initializers were run), empty if
+     *         it can not be checked without initialization in current JVM
+     */
+    static @NonNull Optional<Boolean> isInitialized(final @NonNull Class<?> cls) {
+	if (!UNSAFE.isPresent() || !METHOD_UNSAFE_SHOULD_BE_INITIALIZED.isPresent()) {
+	    return Optional.empty();
+	}
+	try {
+	    return Optional
+		    .of(!((Boolean) METHOD_UNSAFE_SHOULD_BE_INITIALIZED.get().invoke(UNSAFE.get(), cls)).booleanValue());
+	} catch (Exception | LinkageError exc) {
+	    return Optional.empty();
+	}
     }
 
 }
@@ -0,0 +1,37 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.NonNull;
+
+/**
+ * {@link ClassValue} that remembers classes it has computed values for, thus
+ * values can be removed after generation (see {@link GeneratorTeardown}).
+ * Values attached to classes of parent classloaders (like JDK ones) would keep
+ * generator classloader reachable otherwise.
+ */
+abstract class ReleasableClassValue<T> extends ClassValue<T> {
+
+    private final @NonNull Set<Class<?>> computed = ConcurrentHashMap.newKeySet();
+
+    protected abstract T compute(Class<?> type);
+
+    @Override
+    protected final T computeValue(Class<?> type) {
+	computed.add(type);
+	return compute(type);
+    }
+
+    /**
+     * Removes all computed values
+     */
+    void release() {
+	for (Iterator<Class<?>> iterator = computed.iterator(); iterator.hasNext();) {
+	    remove(iterator.next());
+	    iterator.remove();
+	}
+    }
+
+}
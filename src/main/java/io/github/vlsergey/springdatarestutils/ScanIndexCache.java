@@ -0,0 +1,221 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * On-disk cache of class file headers, one file per classpath entry (and base
+ * package). Cached headers are reused while classpath entry is not changed:
+ * JAR is checked by size and modification time, directory is checked by
+ * names, sizes and modification times of class files in it.
+ * <p>
+ * Cache files are named by hash of classpath entry path and base package, so
+ * entries of previous dependency versions or base packages become unused.
+ * Files that were not used by the run are deleted by
+ * {@link #pruneUntouched()}.
+ */
+@RequiredArgsConstructor
+@Slf4j
+class ScanIndexCache {
+
+    private static final String CACHE_FILE_SUFFIX = ".idx";
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private final @NonNull File directory;
+
+    @Getter
+    private final @NonNull AtomicInteger hits = new AtomicInteger();
+
+    /**
+     * Names of cache files that were read or written by this instance
+     */
+    private final @NonNull Set<String> touched = ConcurrentHashMap.newKeySet();
+
+    private static @NonNull String sha256(final @NonNull String value) {
+	final byte[] digest = FileUtils.sha256().digest(value.getBytes(StandardCharsets.UTF_8));
+	return String.format("%064x", new BigInteger(1, digest));
+    }
+
+    private static @NonNull String fingerprint(final @NonNull File root, final @Nullable String packagePath)
+	    throws IOException {
+	if (!root.isDirectory()) {
+	    return "jar:" + root.length() + ":" + root.lastModified();
+	}
+
+	final Path rootPath = root.toPath();
+	final Path startPath = packagePath == null ? rootPath : rootPath.resolve(packagePath);
+	if (!Files.isDirectory(startPath)) {
+	    return "dir:empty";
+	}
+
+	final StringBuilder listing = new StringBuilder();
+	try (Stream<Path> files = Files.walk(startPath)) {
+	    files.filter(Files::isRegularFile) //
+		    .map(file -> rootPath.relativize(file).toString().replace(File.separatorChar, '/')) //
+		    .filter(name -> ClassPathIndex.isClassFileToScan(name, packagePath)) //
+		    .sorted() //
+		    .forEachOrdered(name -> {
+			final File file = new File(root, name);
+			listing.append(name).append(':').append(file.length()).append(':').append(file.lastModified())
+				.append('\n');
+		    });
+	}
+	return "dir:" + sha256(listing.toString());
+    }
+
+    private static @NonNull List<ClassFileHeader> readHeaders(final @NonNull DataInputStream in) throws IOException {
+	final int count = in.readInt();
+	final List<ClassFileHeader> result = new ArrayList<>(count);
+	for (int i = 0; i < count; i++) {
+	    final int accessFlags = in.readInt();
+	    final String name = in.readUTF();
+	    final String superName = in.readBoolean() ? in.readUTF() : null;
+	    final List<String> interfaces = new ArrayList<>(readStrings(in));
+	    final Set<String> annotations = new LinkedHashSet<>(readStrings(in));
+	    result.add(new ClassFileHeader(accessFlags, annotations, interfaces, name, superName));
+	}
+	return result;
+    }
+
+    private static @NonNull List<String> readStrings(final @NonNull DataInputStream in) throws IOException {
+	final int count = in.readInt();
+	final List<String> result = new ArrayList<>(count);
+	for (int i = 0; i < count; i++) {
+	    result.add(in.readUTF());
+	}
+	return result;
+    }
+
+    private static void writeHeaders(final @NonNull DataOutputStream out,
+	    final @NonNull List<ClassFileHeader> headers) throws IOException {
+	out.writeInt(headers.size());
+	for (ClassFileHeader header : headers) {
+	    out.writeInt(header.getAccessFlags());
+	    out.writeUTF(header.getName());
+	    out.writeBoolean(header.getSuperName() != null);
+	    if (header.getSuperName() != null) {
+		out.writeUTF(header.getSuperName());
+	    }
+	    writeStrings(out, header.getInterfaces());
+	    writeStrings(out, header.getAnnotations());
+	}
+    }
+
+    private static void writeStrings(final @NonNull DataOutputStream out, final @NonNull Collection<String> strings)
+	    throws IOException {
+	out.writeInt(strings.size());
+	for (String str : strings) {
+	    out.writeUTF(str);
+	}
+    }
+
+    /**
+     * Returns headers from cache if classpath entry is not changed since last
+     * scan, otherwise calls scanner and stores its result into cache
+     */
+    @NonNull
+    List<ClassFileHeader> getOrScan(final @NonNull File root, final @Nullable String packagePath,
+	    final @NonNull Supplier<List<ClassFileHeader>> scanner) {
+	final File cacheFile = new File(directory,
+		sha256(root.getAbsolutePath() + "\n" + packagePath) + CACHE_FILE_SUFFIX);
+	touched.add(cacheFile.getName());
+
+	final String fingerprint;
+	try {
+	    fingerprint = fingerprint(root, packagePath);
+	} catch (IOException exc) {
+	    log.debug("Unable to compute fingerprint of {}: {}", root, exc.getMessage());
+	    return scanner.get();
+	}
+
+	final Optional<List<ClassFileHeader>> cached = read(cacheFile, fingerprint);
+	if (cached.isPresent()) {
+	    log.debug("Using cached index of {}", root);
+	    hits.incrementAndGet();
+	    return cached.get();
+	}
+
+	final List<ClassFileHeader> headers = scanner.get();
+	write(cacheFile, fingerprint, headers);
+	return headers;
+    }
+
+    /**
+     * Deletes cache files (and temporary files left by failed runs) that were
+     * not read or written by this instance. Shall be called after all scans of
+     * the run that share cache directory.
+     */
+    void pruneUntouched() {
+	final File[] files = directory.listFiles((dir, name) -> !touched.contains(name)
+		&& (name.endsWith(CACHE_FILE_SUFFIX) || name.endsWith(TEMP_FILE_SUFFIX)));
+	if (files == null) {
+	    return;
+	}
+	for (File file : files) {
+	    try {
+		Files.deleteIfExists(file.toPath());
+		log.debug("Deleted unused scan index cache file {}", file);
+	    } catch (IOException exc) {
+		log.debug("Unable to delete unused scan index cache file {}: {}", file, exc.getMessage());
+	    }
+	}
+    }
+
+    private @NonNull Optional<List<ClassFileHeader>> read(final @NonNull File cacheFile,
+	    final @NonNull String fingerprint) {
+	if (!cacheFile.isFile()) {
+	    return Optional.empty();
+	}
+
+	try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+	    if (in.readInt() != FORMAT_VERSION || !fingerprint.equals(in.readUTF())) {
+		return Optional.empty();
+	    }
+	    return Optional.of(readHeaders(in));
+	} catch (IOException exc) {
+	    log.debug("Unable to read scan index cache file {}: {}", cacheFile, exc.getMessage());
+	    return Optional.empty();
+	}
+    }
+
+    private void write(final @NonNull File cacheFile, final @NonNull String fingerprint,
+	    final @NonNull List<ClassFileHeader> headers) {
+	try {
+	    Files.createDirectories(directory.toPath());
+	    final Path tempFile = File.createTempFile(cacheFile.getName(), TEMP_FILE_SUFFIX, directory).toPath();
+	    try {
+		try (DataOutputStream out = new DataOutputStream(
+			new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+		    out.writeInt(FORMAT_VERSION);
+		    out.writeUTF(fingerprint);
+		    writeHeaders(out, headers);
+		}
+
+		FileUtils.moveAtomically(tempFile, cacheFile.toPath());
+	    } finally {
+		Files.deleteIfExists(tempFile);
+	    }
+	} catch (IOException exc) {
+	    log.warn("Unable to write scan index cache file {}: {}", cacheFile, exc.getMessage());
+	}
+    }
+
+}
@@ -1,5 +1,6 @@
 package io.github.vlsergey.springdatarestutils;
 
+import java.io.OutputStream;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -34,4 +35,17 @@ class SchemaUtils {
 	}
     }
 
+    /**
+     * Serializes object directly into stream, without building intermediate
+     * string. Stream is closed after writing.
+     */
+    @SneakyThrows
+    static void writeValue(boolean json, OutputStream out, Object obj) {
+	if (json) {
+	    Json.pretty().writeValue(out, obj);
+	} else {
+	    Yaml.pretty().writeValue(out, obj);
+	}
+    }
+
 }
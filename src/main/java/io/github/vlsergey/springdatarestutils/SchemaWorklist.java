@@ -0,0 +1,116 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import org.apache.commons.lang3.tuple.Triple;
+
+import static java.util.stream.Collectors.toList;
+
+import io.swagger.v3.oas.models.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Queue of schema components to be mapped. Components are mapped wave by wave,
+ * where each wave contains components first referenced while mapping the
+ * previous one. Components of the same wave may be mapped in parallel, but
+ * results and new references are merged in the same order as sequential FIFO
+ * processing would do, so the result does not depend on parallelism.
+ */
+class SchemaWorklist {
+
+    @AllArgsConstructor
+    private static final class MappingResult {
+	private final @NonNull Triple<Class<?>, ClassMappingMode, RequestType> key;
+	private final @NonNull List<Triple<Class<?>, ClassMappingMode, RequestType>> references;
+	private final @NonNull Schema<?> schema;
+    }
+
+    @FunctionalInterface
+    interface ResultConsumer {
+	void accept(@NonNull Triple<Class<?>, ClassMappingMode, RequestType> key, @NonNull Schema<?> schema,
+		@NonNull List<Triple<Class<?>, ClassMappingMode, RequestType>> references);
+    }
+
+    /**
+     * References collected by mapping task running in current thread
+     */
+    private final @NonNull ThreadLocal<List<Triple<Class<?>, ClassMappingMode, RequestType>>> collector = new ThreadLocal<>();
+
+    private final @NonNull List<Triple<Class<?>, ClassMappingMode, RequestType>> pending = new ArrayList<>();
+
+    private final @NonNull Set<Triple<Class<?>, ClassMappingMode, RequestType>> queued = new HashSet<>();
+
+    static @NonNull ForkJoinPool newPool() {
+	final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+	return new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+	    final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+	    thread.setContextClassLoader(contextClassLoader);
+	    return thread;
+	}, null, false);
+    }
+
+    /**
+     * Maps all queued components, including the ones referenced during mapping.
+     *
+     * @param mapping        function to build schema of component
+     * @param resultConsumer receives results (with references made during
+     *                       mapping) in deterministic order
+     * @param pool           pool to map components of the same wave in
+     *                       parallel, {@code null} for sequential mapping
+     */
+    void drain(final @NonNull Function<Triple<Class<?>, ClassMappingMode, RequestType>, Schema<?>> mapping,
+	    final @NonNull ResultConsumer resultConsumer, final @Nullable ForkJoinPool pool) {
+	final Function<Triple<Class<?>, ClassMappingMode, RequestType>, MappingResult> task = key -> {
+	    final List<Triple<Class<?>, ClassMappingMode, RequestType>> references = new ArrayList<>();
+	    collector.set(references);
+	    try {
+		return new MappingResult(key, references, mapping.apply(key));
+	    } finally {
+		collector.remove();
+	    }
+	};
+
+	while (!pending.isEmpty()) {
+	    final List<Triple<Class<?>, ClassMappingMode, RequestType>> wave = new ArrayList<>(pending);
+	    pending.clear();
+
+	    final List<MappingResult> results = pool == null || wave.size() == 1
+		    ? wave.stream().map(task).collect(toList())
+		    : pool.invoke(ForkJoinTask.adapt(() -> wave.parallelStream().map(task).collect(toList())));
+
+	    for (MappingResult result : results) {
+		resultConsumer.accept(result.key, result.schema, result.references);
+		result.references.forEach(this::enqueue);
+	    }
+	}
+    }
+
+    private void enqueue(final @NonNull Triple<Class<?>, ClassMappingMode, RequestType> key) {
+	if (queued.add(key)) {
+	    pending.add(key);
+	}
+    }
+
+    /**
+     * Registers reference to component. Called from mapping task it is
+     * collected to be merged later, otherwise queued immediately.
+     */
+    void reference(final @NonNull Class<?> cls, final @NonNull ClassMappingMode classMappingMode,
+	    final @NonNull RequestType requestType) {
+	final Triple<Class<?>, ClassMappingMode, RequestType> key = Triple.of(cls, classMappingMode, requestType);
+	final List<Triple<Class<?>, ClassMappingMode, RequestType>> references = collector.get();
+	if (references != null) {
+	    references.add(key);
+	} else {
+	    enqueue(key);
+	}
+    }
+
+}
@@ -0,0 +1,26 @@
+package io.github.vlsergey.springdatarestutils;
+
+import javax.inject.Inject;
+
+import org.gradle.api.Named;
+
+/**
+ * Additional specification generated by the same task from the same classpath
+ * scan. Values of main specification are used as conventions, except output
+ * and incremental state file.
+ */
+abstract class SpecProperties extends GenerationProperties implements Named {
+
+    private final String name;
+
+    @Inject
+    public SpecProperties(final String name) {
+	this.name = name;
+    }
+
+    @Override
+    public String getName() {
+	return name;
+    }
+
+}
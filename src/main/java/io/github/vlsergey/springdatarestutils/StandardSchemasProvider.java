@@ -1,5 +1,6 @@
 package io.github.vlsergey.springdatarestutils;
 
+import java.lang.reflect.Array;
 import java.net.URI;
 import java.net.URL;
 import java.time.Instant;
@@ -8,11 +9,17 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 
+import static java.util.Collections.emptyMap;
+
 import io.swagger.v3.oas.models.media.*;
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 public class StandardSchemasProvider {
 
     private static final @NonNull Map<Class<?>, Supplier<Schema<?>>> standardSchemas = new LinkedHashMap<>();
@@ -37,9 +44,87 @@ public class StandardSchemasProvider {
 	standardSchemas.put(long.class, () -> new IntegerSchema().format("int64").nullable(Boolean.FALSE));
     }
 
-    public static Optional<Supplier<Schema<?>>> getStandardSchemaSupplier(Class<?> cls, boolean withXJavaClassName,
-	    boolean withXJavaComparable) {
-	return standardSchemas.entrySet().stream().filter(e -> e.getKey().isAssignableFrom(cls)).map(Entry::getValue)
+    /**
+     * Resolved suppliers per class. Plain map (not {@link ClassValue}) is used
+     * to not attach values to JDK classes, which would keep generator
+     * classloader reachable after run.
+     */
+    private final @NonNull ConcurrentMap<Class<?>, Optional<Supplier<Schema<?>>>> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * User-defined mappings first, then standard ones
+     */
+    private final @NonNull Map<Class<?>, Supplier<Schema<?>>> schemas = new LinkedHashMap<>();
+
+    private final boolean withXJavaClassName;
+
+    private final boolean withXJavaComparable;
+
+    public StandardSchemasProvider(final @NonNull TaskProperties taskProperties) {
+	this.withXJavaClassName = taskProperties.isAddXJavaClassName();
+	this.withXJavaComparable = taskProperties.isAddXJavaComparable();
+
+	Optional.ofNullable(taskProperties.getTypeMappings()).orElse(emptyMap()).forEach((className, typeAndFormat) -> {
+	    final Optional<Class<?>> cls = findClass(className);
+	    if (!cls.isPresent()) {
+		log.warn("Class '{}' from type mappings is not found, mapping is ignored", className);
+		return;
+	    }
+	    schemas.put(cls.get(), toSchemaSupplier(className, typeAndFormat));
+	});
+	standardSchemas.forEach(schemas::putIfAbsent);
+    }
+
+    /**
+     * Finds class by Java source-like name: primitive types and array types like
+     * {@code byte[]} are supported.
+     */
+    private static @NonNull Optional<Class<?>> findClass(final @NonNull String className) {
+	if (className.endsWith("[]")) {
+	    return findClass(className.substring(0, className.length() - 2))
+		    .map(componentType -> Array.newInstance(componentType, 0).getClass());
+	}
+	switch (className) {
+	case "boolean":
+	    return Optional.of(boolean.class);
+	case "byte":
+	    return Optional.of(byte.class);
+	case "char":
+	    return Optional.of(char.class);
+	case "double":
+	    return Optional.of(double.class);
+	case "float":
+	    return Optional.of(float.class);
+	case "int":
+	    return Optional.of(int.class);
+	case "long":
+	    return Optional.of(long.class);
+	case "short":
+	    return Optional.of(short.class);
+	default:
+	    return ReflectionUtils.findClass(className).map(cls -> cls);
+	}
+    }
+
+    private static @NonNull Supplier<Schema<?>> toSchemaSupplier(final @NonNull String className,
+	    final @NonNull String typeAndFormat) {
+	final String[] parts = typeAndFormat.split(":", 2);
+	if (parts[0].trim().isEmpty()) {
+	    throw new IllegalArgumentException("Type mapping of '" + className
+		    + "' shall be specified as 'type' or 'type:format', but was '" + typeAndFormat + "'");
+	}
+
+	final String type = parts[0].trim();
+	final String format = parts.length == 2 && !parts[1].trim().isEmpty() ? parts[1].trim() : null;
+	return () -> new Schema<>().type(type).format(format);
+    }
+
+    public @NonNull Optional<Supplier<Schema<?>>> getStandardSchemaSupplier(final @NonNull Class<?> cls) {
+	return resolved.computeIfAbsent(cls, this::resolve);
+    }
+
+    private @NonNull Optional<Supplier<Schema<?>>> resolve(final @NonNull Class<?> cls) {
+	return schemas.entrySet().stream().filter(e -> e.getKey().isAssignableFrom(cls)).map(Entry::getValue)
 		.<Supplier<Schema<?>>>map(schemaProvider -> (withXJavaClassName || withXJavaComparable)
 			&& (URL.class.isAssignableFrom(cls) || Comparable.class.isAssignableFrom(cls)) ? () -> {
 			    Schema<?> result = schemaProvider.get();
@@ -55,10 +140,6 @@ public class StandardSchemasProvider {
 		.findFirst();
     }
 
-    public static boolean hasStandardSchemaSupplier(Class<?> cls) {
-	return standardSchemas.keySet().stream().anyMatch(e -> e.isAssignableFrom(cls));
-    }
-
     public static final class UriSchema extends Schema<String> {
 	public UriSchema() {
 	    super("string", "uri");
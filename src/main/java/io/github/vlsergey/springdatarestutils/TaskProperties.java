@@ -3,8 +3,10 @@ package io.github.vlsergey.springdatarestutils;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 
 import io.swagger.v3.oas.models.info.Info;
@@ -26,6 +28,12 @@ public class TaskProperties {
 
     private String baseTypePrefix = "Base";
 
+    /**
+     * Names of classes changed since previous run, {@code null} if unknown
+     * (full regeneration is required)
+     */
+    private List<String> changedClasses = null;
+
     private String createTypePrefix = "New";
 
     private String createTypeSuffix = "Request";
@@ -34,6 +42,12 @@ public class TaskProperties {
 
     private String enumTypeSuffix = "";
 
+    /**
+     * File to keep information required for incremental regeneration,
+     * {@code null} to always perform full regeneration
+     */
+    private String incrementalStateUri = null;
+
     private Info info = new Info();
 
     private String linksTypeSuffix = "Links";
@@ -42,12 +56,41 @@ public class TaskProperties {
 
     private String outputUri = new File("api.yaml").toURI().toString();
 
+    private boolean parallelMapping = true;
+
+    private boolean parallelScan = true;
+
     private String patchTypeSuffix = "Patch";
 
     private String repositoryDetectionStrategy = "DEFAULT";
 
+    /**
+     * Where to write JSON report with timings of generation phases,
+     * {@code null} to not write report
+     */
+    private String reportUri = null;
+
+    /**
+     * Directory to cache classpath scan results between runs, {@code null} to
+     * disable caching
+     */
+    private String scanCacheUri = null;
+
     private List<Server> servers = new ArrayList<>(singletonList(new Server().url("/api")));
 
+    /**
+     * Additional specifications (by name) generated from the same classpath
+     * scan. Classpath is scanned once for common package of all base packages
+     * (or once per base package when they have no common package).
+     */
+    private Map<String, TaskProperties> specs = emptyMap();
+
+    /**
+     * Additional schemas of classes (by class name) as {@code type} or
+     * {@code type:format}, e.g. {@code java.time.LocalDate: string:date}
+     */
+    private Map<String, String> typeMappings = emptyMap();
+
     private String updateTypePrefix = "";
 
     private String updateTypeSuffix = "Request";
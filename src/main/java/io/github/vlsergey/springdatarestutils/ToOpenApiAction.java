@@ -1,96 +1,57 @@
 package io.github.vlsergey.springdatarestutils;
 
-import java.io.File;
-import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Consumer;
-
-import org.gradle.api.Action;
-import org.gradle.api.Project;
-import org.gradle.api.Task;
-import org.gradle.api.tasks.SourceSet;
-import org.gradle.api.tasks.SourceSetContainer;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
 
 import lombok.SneakyThrows;
-import lombok.extern.slf4j.Slf4j;
-
-@Slf4j
-class ToOpenApiAction implements Action<Task> {
 
-    private final PluginProperties pluginProperties;
-    private final Project project;
-
-    public ToOpenApiAction(Project project, PluginProperties pluginProperties) {
-	this.project = project;
-	this.pluginProperties = pluginProperties;
-    }
+/**
+ * Runs generation inside Gradle worker. Worker is created with isolated
+ * classloader (or in separate process) that contains both plugin classes and
+ * project classpath. Gradle caches such classloaders (and keeps worker
+ * processes alive), thus subsequent runs with the same classpath reuses
+ * already loaded and JIT-compiled classes. Generation runs in dedicated
+ * thread and is followed by release of caches (see {@link GeneratorTeardown}),
+ * thus classloaders of previous classpaths can be unloaded.
+ */
+public abstract class ToOpenApiAction implements WorkAction<ToOpenApiAction.Parameters> {
 
     @Override
     @SneakyThrows
-    public void execute(Task taskImpl) {
-	final List<URL> urls = new ArrayList<>();
-
-	SourceSetContainer sourceSetContainer = project.getConvention().getByType(SourceSetContainer.class);
-	sourceSetContainer.getAsMap().forEach((String name, SourceSet set) -> {
-	    final Consumer<? super File> addToClassPath = file -> {
-		try {
-		    final URL url = file.toURI().toURL();
-		    urls.add(url);
-		    log.debug("Added to classPath: {}", url);
-		} catch (MalformedURLException e) {
-		    e.printStackTrace();
-		}
-	    };
-
-	    set.getCompileClasspath().forEach(addToClassPath);
-	    set.getOutput().getClassesDirs().forEach(addToClassPath);
+    public void execute() {
+	final Parameters parameters = getParameters();
+	// includes creation (or reuse) of worker classloader or process
+	final long workerStartupMillis = System.currentTimeMillis() - parameters.getSubmitTimeMillis().get();
+
+	final String projectDisplayName = parameters.getProjectDisplayName().get();
+	final String projectVersion = parameters.getProjectVersion().get();
+	final String settings = parameters.getSettings().get();
+
+	GeneratorTeardown.run(ToOpenApiAction.class.getClassLoader(), () -> {
+	    final ToOpenApiActionImpl impl = new ToOpenApiActionImpl(projectDisplayName, projectVersion, settings);
+	    impl.getReport().addPhase("workerStartup", workerStartupMillis);
+	    impl.executeWithinUrlClassLoader();
+	    return null;
 	});
+    }
+
+    public interface Parameters extends WorkParameters {
 
-	urls.add(ToOpenApiAction.class.getProtectionDomain().getCodeSource().getLocation());
+	Property<String> getProjectDisplayName();
 
-	try (URLClassLoader classLoader = new URLClassLoader(urls.toArray(new URL[urls.size()]),
-		ClassLoader.getSystemClassLoader())) {
+	Property<String> getProjectVersion();
 
-	    final AtomicReference<Throwable> excHolder = new AtomicReference<>(null);
-	    final String propsJson = new ObjectMapper().writeValueAsString(pluginProperties.toTaskProperties());
-	    final Object[] constructorArgs = new Object[] { project.getDisplayName(), project.getVersion().toString(),
-		    propsJson };
+	/**
+	 * JSON-serialized {@link TaskProperties}
+	 */
+	Property<String> getSettings();
 
-	    final Thread thread = new Thread(() -> {
-		try {
-		    final Class<?> implClass = Class.forName(ToOpenApiAction.class.getName() + "Impl", true,
-			    classLoader);
-		    final Constructor<?> constructor = implClass.getConstructor(String.class, String.class,
-			    String.class);
-		    final Object impl = constructor.newInstance(constructorArgs);
-		    implClass.getMethod("executeWithinUrlClassLoader").invoke(impl);
-		} catch (Exception exc) {
-		    throw new RuntimeException(exc);
-		}
-	    }, this.getClass().getName());
-	    thread.setContextClassLoader(classLoader);
-	    thread.setUncaughtExceptionHandler((t, exc) -> {
-		log.error(exc.getMessage(), exc);
-		excHolder.set(exc);
-	    });
-	    thread.start();
-	    thread.join();
+	/**
+	 * Time when work was submitted to worker, to measure worker startup
+	 */
+	Property<Long> getSubmitTimeMillis();
 
-	    final Throwable exc = excHolder.get();
-	    if (exc != null) {
-		throw exc;
-	    }
-	} catch (IOException e) {
-	    e.printStackTrace();
-	}
     }
 
-}
\ No newline at end of file
+}
@@ -2,25 +2,38 @@ package io.github.vlsergey.springdatarestutils;
 
 import java.io.File;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Predicate;
 
-import org.apache.commons.lang3.tuple.Triple;
+import javax.annotation.Nullable;
+
 import org.springframework.data.rest.core.mapping.RepositoryDetectionStrategy.RepositoryDetectionStrategies;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toSet;
+
 import io.github.vlsergey.springdatarestutils.CodebaseScannerFacade.ScanResult;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Paths;
 import io.swagger.v3.oas.models.media.Schema;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -28,8 +41,16 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ToOpenApiActionImpl {
 
+    /**
+     * Name of main specification in {@link #executeWithinUrlClassLoader()}:
+     * phases of main specification are reported without prefix
+     */
+    private static final String MAIN_SPEC_NAME = "";
+
     private final String projectDisplayName;
     private final String projectVersion;
+    @Getter(AccessLevel.PACKAGE)
+    private final GenerationReport report = new GenerationReport();
     private final TaskProperties taskProperties;
 
     @SneakyThrows
@@ -39,72 +60,260 @@ public class ToOpenApiActionImpl {
 	this.taskProperties = new ObjectMapper().readValue(taskProperties, TaskProperties.class);
     }
 
+    /**
+     * @return longest common package of base packages of specifications,
+     *         {@code null} if some of base packages is not specified or there
+     *         is no common package
+     */
+    static @Nullable String commonPackage(final @NonNull Collection<TaskProperties> specs) {
+	final Set<String> basePackages = specs.stream().map(TaskProperties::getBasePackage).collect(toSet());
+	if (basePackages.contains(null)) {
+	    return null;
+	}
+	if (basePackages.size() == 1) {
+	    return basePackages.iterator().next();
+	}
+
+	String[] common = null;
+	int length = 0;
+	for (String basePackage : basePackages) {
+	    final String[] segments = basePackage.split("\\.");
+	    if (common == null) {
+		common = segments;
+		length = segments.length;
+		continue;
+	    }
+	    int i = 0;
+	    while (i < length && i < segments.length && common[i].equals(segments[i])) {
+		i++;
+	    }
+	    length = i;
+	}
+	return common == null || length == 0 ? null : String.join(".", Arrays.asList(common).subList(0, length));
+    }
+
+    /**
+     * Groups specifications to scan classpath once per group: all together if
+     * base packages have common package (or none is specified), by base
+     * package otherwise
+     */
+    private static @NonNull Collection<Map<String, TaskProperties>> groupByScan(
+	    final @NonNull Map<String, TaskProperties> specs) {
+	if (commonPackage(specs.values()) != null
+		|| specs.values().stream().allMatch(spec -> spec.getBasePackage() == null)) {
+	    return singletonList(specs);
+	}
+	final Map<String, Map<String, TaskProperties>> groups = new LinkedHashMap<>();
+	specs.forEach((name, spec) -> groups.computeIfAbsent(spec.getBasePackage(), k -> new LinkedHashMap<>())
+		.put(name, spec));
+	return groups.values();
+    }
+
+    /**
+     * Generates main specification and additional ones (see
+     * {@link TaskProperties#getSpecs()}). Classpath is scanned once for all of
+     * them, specifications are rendered in parallel if
+     * {@link TaskProperties#isParallelMapping()} is set for main one.
+     */
     public void executeWithinUrlClassLoader() throws Exception {
-	final CodebaseScannerFacade scannerFacade = new CodebaseScannerFacade(this.taskProperties.getBasePackage(),
-		RepositoryDetectionStrategies.valueOf(this.taskProperties.getRepositoryDetectionStrategy()));
+	final Map<String, TaskProperties> specs = new LinkedHashMap<>();
+	specs.put(MAIN_SPEC_NAME, this.taskProperties);
+	specs.putAll(Optional.ofNullable(this.taskProperties.getSpecs()).orElse(emptyMap()));
+
+	final Set<String> outputs = new HashSet<>();
+	specs.forEach((name, spec) -> {
+	    if (!outputs.add(spec.getOutputUri())) {
+		throw new IllegalArgumentException("Output " + spec.getOutputUri() + " of specification '" + name
+			+ "' is already used by another specification");
+	    }
+	});
+
+	final Set<Class<?>> loadedClasses = new HashSet<>();
+	final Map<String, ScanResult> scanResults = scan(Thread.currentThread().getContextClassLoader(), specs,
+		loadedClasses);
+
+	if (specs.size() > 1 && this.taskProperties.isParallelMapping()) {
+	    final ForkJoinPool pool = SchemaWorklist.newPool();
+	    try {
+		pool.invoke(ForkJoinTask.adapt(() -> specs.entrySet().parallelStream()
+			.forEach(spec -> render(spec.getKey(), spec.getValue(), scanResults.get(spec.getKey())))));
+	    } finally {
+		GeneratorTeardown.shutdownAndAwait(pool);
+	    }
+	} else {
+	    specs.forEach((name, spec) -> render(name, spec, scanResults.get(name)));
+	}
+
+	reportInitializedClasses(loadedClasses);
+
+	report.finish();
+	report.logSummary();
+	if (this.taskProperties.getReportUri() != null) {
+	    report.write(new File(new URI(this.taskProperties.getReportUri())));
+	}
+    }
 
-	final ScanResult scanResult = scannerFacade.scan(Thread.currentThread().getContextClassLoader());
-	final Predicate<Class<?>> isExposed = cls -> scanResult.getRepositories().stream()
-		.anyMatch(meta -> meta.getDomainType().isAssignableFrom(cls));
+    /**
+     * Renders single specification
+     *
+     * @param name name of specification, used as prefix of reported phases
+     */
+    @SneakyThrows
+    private void render(final @NonNull String name, final @NonNull TaskProperties spec,
+	    final @NonNull ScanResult scanResult) {
+	final String phasePrefix = MAIN_SPEC_NAME.equals(name) ? "" : name + "/";
+	final Predicate<Class<?>> isExposed = new ExposedTypesIndex(scanResult);
 	final ProjectionHelper projectionHelper = new ProjectionHelper(scanResult);
 
-	Queue<Triple<Class<?>, ClassMappingMode, RequestType>> toProcess = new LinkedList<>();
-	Set<Triple<Class<?>, ClassMappingMode, RequestType>> queued = new HashSet<>();
+	final File outputFile = new File(new URI(spec.getOutputUri()));
+	final @Nullable IncrementalRegeneration incremental = spec.getIncrementalStateUri() == null ? null
+		: new IncrementalRegeneration(spec, scanResult, projectionHelper, outputFile,
+			new File(new URI(spec.getIncrementalStateUri())));
+
+	final SchemaWorklist worklist = new SchemaWorklist();
 
 	OpenAPI apiModel = new OpenAPI();
-	setApiInfo(apiModel);
+	setApiInfo(spec, apiModel);
 	apiModel.setComponents(new Components());
 	apiModel.setPaths(new Paths());
-	apiModel.setServers(this.taskProperties.getServers());
+	apiModel.setServers(spec.getServers());
 
 	final ClassToRefResolver classToRefResolver = (@NonNull Class<?> cls,
 		@NonNull ClassMappingMode classMappingMode, @NonNull RequestType requestType) -> {
-
-	    final Triple<Class<?>, ClassMappingMode, RequestType> key = Triple.of(cls, classMappingMode, requestType);
-	    if (!queued.contains(key)) {
-		toProcess.add(key);
-		queued.add(key);
-	    }
-
-	    return ClassToRefResolver.generateName(taskProperties, cls, classMappingMode, requestType);
+	    worklist.reference(cls, classMappingMode, requestType);
+	    return ClassToRefResolver.generateName(spec, cls, classMappingMode, requestType);
 	};
 
-	final CustomAnnotationsHelper customAnnotationsHelper = new CustomAnnotationsHelper(taskProperties);
+	final CustomAnnotationsHelper customAnnotationsHelper = new CustomAnnotationsHelper(spec);
 
 	final EntityToSchemaMapper mapper = new EntityToSchemaMapper(classToRefResolver, customAnnotationsHelper,
-		isExposed, projectionHelper, scanResult, taskProperties);
+		isExposed, projectionHelper, scanResult, new StandardSchemasProvider(spec), spec);
 
-	final PathsGenerator pathsGenerator = new PathsGenerator(classToRefResolver, apiModel.getComponents(),
-		customAnnotationsHelper, isExposed, mapper, apiModel.getPaths(), projectionHelper, scanResult,
-		taskProperties);
-	pathsGenerator.generate(scanResult.getRepositories(), scanResult.getQueryMethodsCandidates());
+	try (GenerationReport.Phase phase = report.phase(phasePrefix + "paths")) {
+	    final PathsGenerator pathsGenerator = new PathsGenerator(classToRefResolver, apiModel.getComponents(),
+		    customAnnotationsHelper, isExposed, mapper, apiModel.getPaths(), projectionHelper, scanResult,
+		    spec);
+	    pathsGenerator.generate(scanResult.getRepositories(), scanResult.getQueryMethodsCandidates());
+	    phase.setItems(apiModel.getPaths().size());
+	}
 
-	while (!toProcess.isEmpty()) {
-	    final Triple<Class<?>, ClassMappingMode, RequestType> head = toProcess.poll();
+	final ForkJoinPool pool = spec.isParallelMapping() ? SchemaWorklist.newPool() : null;
+	try (GenerationReport.Phase phase = report.phase(phasePrefix + "schemas")) {
+	    worklist.drain(key -> {
+		final long start = System.nanoTime();
+		try {
+		    final Optional<Schema<?>> reused = incremental != null ? incremental.reuse(key, worklist)
+			    : Optional.empty();
+		    return reused.isPresent() ? reused.get()
+			    : mapper.mapEntity(key.getLeft(), key.getMiddle(), key.getRight());
+		} finally {
+		    report.recordEntity(key.getLeft(), System.nanoTime() - start);
+		}
+	    }, (key, schema, references) -> {
+		apiModel.schema(
+			ClassToRefResolver.generateName(spec, key.getLeft(), key.getMiddle(), key.getRight()),
+			schema);
+		if (incremental != null) {
+		    incremental.record(key, references);
+		}
+	    }, pool);
+	    phase.setItems(apiModel.getComponents().getSchemas().size());
+	} finally {
+	    if (pool != null) {
+		GeneratorTeardown.shutdownAndAwait(pool);
+	    }
+	}
 
-	    final Class<?> cls = head.getLeft();
-	    final ClassMappingMode mode = head.getMiddle();
-	    final RequestType requestType = head.getRight();
+	try (GenerationReport.Phase phase = report.phase(phasePrefix + "sorting")) {
+	    SchemaUtils.sortMapByKeys(apiModel.getComponents().getSchemas());
+	    SchemaUtils.sortMapByKeys(apiModel.getPaths());
+	}
 
-	    Schema<?> schema = mapper.mapEntity(cls, mode, requestType);
-	    apiModel.schema(ClassToRefResolver.generateName(this.taskProperties, cls, mode, requestType), schema);
+	final boolean written;
+	try (GenerationReport.Phase phase = report.phase(phasePrefix + "serialization")) {
+	    written = FileUtils.writeIfChanged(outputFile.toPath(),
+		    out -> SchemaUtils.writeValue(outputFile.getName().endsWith(".json"), out, apiModel));
+	    phase.setItems(outputFile.length());
 	}
 
-	SchemaUtils.sortMapByKeys(apiModel.getComponents().getSchemas());
-	SchemaUtils.sortMapByKeys(apiModel.getPaths());
+	if (written) {
+	    log.info("Result ({} bytes) is written into {}", outputFile.length(), outputFile.getPath());
+	} else {
+	    log.info("Result ({} bytes) is the same as content of {}, file is not changed", outputFile.length(),
+		    outputFile.getPath());
+	}
 
-	final File outputFile = new File(new URI(this.taskProperties.getOutputUri()));
-	final String serialized = SchemaUtils.writeValueAsString(outputFile.getName().endsWith(".json"), apiModel);
-	final byte[] jsonBytes = serialized.getBytes(StandardCharsets.UTF_8);
+	if (incremental != null) {
+	    incremental.save();
+	}
+    }
 
-	Files.write(outputFile.toPath(), jsonBytes, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
-		StandardOpenOption.TRUNCATE_EXISTING);
+    private static void reportInitializedClasses(final @NonNull Set<Class<?>> loadedClasses) {
+	final List<String> initialized = new ArrayList<>();
+	for (Class<?> cls : loadedClasses) {
+	    final Optional<Boolean> isInitialized = ReflectionUtils.isInitialized(cls);
+	    if (!isInitialized.isPresent()) {
+		log.debug("Unable to check if classes were initialized in current JVM");
+		return;
+	    }
+	    if (isInitialized.get().booleanValue()) {
+		initialized.add(cls.getName());
+	    }
+	}
+
+	log.info("{} of {} scanned classes are initialized", initialized.size(), loadedClasses.size());
+	if (!initialized.isEmpty()) {
+	    log.debug("Initialized classes: {}", initialized);
+	}
+    }
 
-	log.info("Result ({} bytes) is written into {}", jsonBytes.length, outputFile.getPath());
+    /**
+     * Scans classpath once per group of specifications (see
+     * {@link #groupByScan(Map)}) and restricts result to base package and
+     * repository detection strategy of every specification
+     *
+     * @param loadedClasses receives classes loaded during scan
+     * @return scan results by name of specification
+     */
+    private @NonNull Map<String, ScanResult> scan(final @NonNull ClassLoader classLoader,
+	    final @NonNull Map<String, TaskProperties> specs, final @NonNull Set<Class<?>> loadedClasses)
+	    throws Exception {
+	final Map<String, ScanResult> result = new HashMap<>();
+	final @Nullable ScanIndexCache scanIndexCache = this.taskProperties.getScanCacheUri() == null ? null
+		: new ScanIndexCache(new File(new URI(this.taskProperties.getScanCacheUri())));
+	for (Map<String, TaskProperties> group : groupByScan(specs)) {
+	    final @Nullable String basePackage = commonPackage(group.values());
+	    final Set<RepositoryDetectionStrategies> strategies = group.values().stream()
+		    .map(spec -> RepositoryDetectionStrategies.valueOf(spec.getRepositoryDetectionStrategy()))
+		    .collect(toSet());
+	    // all strategies detect subsets of repositories detected by ALL one
+	    final RepositoryDetectionStrategies strategy = strategies.size() == 1 ? strategies.iterator().next()
+		    : RepositoryDetectionStrategies.ALL;
+
+	    final CodebaseScannerFacade scannerFacade = new CodebaseScannerFacade(basePackage, strategy);
+	    scannerFacade.setParallelScan(this.taskProperties.isParallelScan());
+	    scannerFacade.setReport(report);
+	    scannerFacade.setScanIndexCache(scanIndexCache);
+
+	    final ScanResult scanResult = scannerFacade.scan(classLoader);
+	    loadedClasses.addAll(scannerFacade.getLoadedClasses());
+
+	    group.forEach((name, spec) -> {
+		final RepositoryDetectionStrategies specStrategy = RepositoryDetectionStrategies
+			.valueOf(spec.getRepositoryDetectionStrategy());
+		result.put(name, Objects.equals(basePackage, spec.getBasePackage()) && specStrategy == strategy
+			? scanResult
+			: scanResult.restrict(spec.getBasePackage(), specStrategy));
+	    });
+	}
+	if (scanIndexCache != null) {
+	    scanIndexCache.pruneUntouched();
+	}
+	return result;
     }
 
-    private void setApiInfo(OpenAPI apiModel) {
-	apiModel.setInfo(this.taskProperties.getInfo());
+    private void setApiInfo(TaskProperties spec, OpenAPI apiModel) {
+	apiModel.setInfo(spec.getInfo());
 	if (apiModel.getInfo().getVersion() == null) {
 	    apiModel.getInfo().setVersion(this.projectVersion);
 	}
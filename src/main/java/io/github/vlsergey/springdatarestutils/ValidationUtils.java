@@ -1,6 +1,5 @@
 package io.github.vlsergey.springdatarestutils;
 
-import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Optional;
@@ -18,12 +17,12 @@ class ValidationUtils {
     private static final Optional<Method> METHOD_MIN_VALUE = CLASS_MIN
 	    .flatMap(cls -> ReflectionUtils.findMethod(cls, "value"));
 
-    static Optional<Long> getMaxValue(PropertyDescriptor pd) {
-	return ReflectionUtils.findAnnotationValue(CLASS_MAX, METHOD_MAX_VALUE, pd, long.class);
+    static Optional<Long> getMaxValue(final PropertyAnnotations annotations) {
+	return annotations.findValue(CLASS_MAX, METHOD_MAX_VALUE, long.class);
     }
 
-    static Optional<Long> getMinValue(PropertyDescriptor pd) {
-	return ReflectionUtils.findAnnotationValue(CLASS_MIN, METHOD_MIN_VALUE, pd, long.class);
+    static Optional<Long> getMinValue(final PropertyAnnotations annotations) {
+	return annotations.findValue(CLASS_MIN, METHOD_MIN_VALUE, long.class);
     }
 
 }
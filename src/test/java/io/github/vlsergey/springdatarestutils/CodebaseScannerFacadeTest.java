@@ -1,12 +1,40 @@
 package io.github.vlsergey.springdatarestutils;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.Indexer;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.rest.core.mapping.RepositoryDetectionStrategy.RepositoryDetectionStrategies;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 
 import io.github.vlsergey.springdatarestutils.CodebaseScannerFacade.ScanResult;
+import io.github.vlsergey.springdatarestutils.inheritance.BaseEntity;
+import io.github.vlsergey.springdatarestutils.inheritance.ChildA;
+import io.github.vlsergey.springdatarestutils.inheritance.ChildB;
 import io.github.vlsergey.springdatarestutils.projections.TestEntityDefaultProjection;
 import io.github.vlsergey.springdatarestutils.test.TestEntity;
 import io.github.vlsergey.springdatarestutils.test.TestEntityRepo;
@@ -15,6 +43,27 @@ class CodebaseScannerFacadeTest {
 
     private static final String MY_PACKAGE = "io.github.vlsergey.springdatarestutils";
 
+    @Test
+    void testScanGenericFragmentIsNotQueryMethod() {
+	final ScanResult scanResult = new CodebaseScannerFacade(MY_PACKAGE + ".genericfragment",
+		RepositoryDetectionStrategies.ALL).scan(getClass().getClassLoader());
+
+	// findSpecial(Object) is implemented by bridge method of CustomFinderImpl
+	assertEquals(singletonList("findByName"),
+		scanResult.getQueryMethodsCandidates().stream().map(Method::getName).collect(toList()));
+    }
+
+    @Test
+    void testScanInheritance() {
+	final ScanResult scanResult = new CodebaseScannerFacade(MY_PACKAGE + ".inheritance",
+		RepositoryDetectionStrategies.ALL).scan(getClass().getClassLoader());
+
+	assertEquals(BaseEntity.class, scanResult.getInheritanceRoots().get(BaseEntity.class));
+	assertEquals(BaseEntity.class, scanResult.getInheritanceRoots().get(ChildA.class));
+	assertEquals(BaseEntity.class, scanResult.getInheritanceRoots().get(ChildB.class));
+	assertEquals("kind", scanResult.getInheritanceDiscriminators().get(BaseEntity.class));
+    }
+
     @Test
     void testScanProjections() {
 	final ScanResult scanResult = new CodebaseScannerFacade(MY_PACKAGE + ".projections",
@@ -36,4 +85,88 @@ class CodebaseScannerFacadeTest {
 	assertEquals(TestEntityRepo.class, member.getRepositoryInterface());
     }
 
+    @Test
+    void testScanWithCache(@TempDir File scanCacheDir) throws Exception {
+	final File unused = new File(scanCacheDir, "unused.idx");
+	assertTrue(unused.createNewFile());
+
+	final ScanIndexCache cache = new ScanIndexCache(scanCacheDir);
+	final CodebaseScannerFacade facade = new CodebaseScannerFacade(MY_PACKAGE + ".test",
+		RepositoryDetectionStrategies.ALL);
+	facade.setScanIndexCache(cache);
+
+	final ScanResult first = facade.scan(getClass().getClassLoader());
+	assertEquals(0, cache.getHits().get());
+	assertTrue(scanCacheDir.list().length > 1);
+
+	final ScanResult second = facade.scan(getClass().getClassLoader());
+	assertTrue(cache.getHits().get() > 0);
+	assertFalse(describe(first).isEmpty());
+	assertEquals(describe(first), describe(second));
+
+	cache.pruneUntouched();
+	assertFalse(unused.exists());
+	assertNotEquals(0, scanCacheDir.list().length);
+    }
+
+    /**
+     * {@link RepositoryMetadata} does not override {@code equals()}, thus scan
+     * results are compared by names of classes and methods
+     */
+    private static List<String> describe(ScanResult scanResult) {
+	final List<String> result = new ArrayList<>();
+	scanResult.getRepositories()
+		.forEach(meta -> result.add("repository " + meta.getRepositoryInterface().getName() + " "
+			+ meta.getDomainType().getName() + " " + meta.getIdType().getName()));
+	scanResult.getProjections().forEach(projection -> result.add("projection " + projection.getName()));
+	scanResult.getInheritance().forEach((root, children) -> result.add("inheritance " + root.getName() + " "
+		+ children.stream().map(Class::getName).collect(toList())));
+	scanResult.getQueryMethodsCandidates().forEach(method -> result.add("query " + method.toGenericString()));
+	Collections.sort(result);
+	return result;
+    }
+
+    @Test
+    void testScanJarWithJandexIndex(@TempDir Path tempDir) throws Exception {
+	final String packagePath = (MY_PACKAGE + ".test.").replace('.', '/');
+	final Path classesDir = Paths.get(TestEntity.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+	final Indexer indexer = new Indexer();
+	try (Stream<Path> files = Files.walk(classesDir.resolve(packagePath))) {
+	    for (Path file : files.filter(file -> file.toString().endsWith(".class")).collect(toList())) {
+		try (InputStream in = Files.newInputStream(file)) {
+		    indexer.index(in);
+		}
+	    }
+	}
+
+	// JAR contains index only, thus headers can be read only from index
+	final File jar = tempDir.resolve("indexed.jar").toFile();
+	try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+	    out.putNextEntry(new ZipEntry(JandexUtils.INDEX_ENTRY_NAME));
+	    new IndexWriter(out).write(indexer.complete());
+	    out.closeEntry();
+	}
+
+	final List<ClassFileHeader> fromIndex = ClassPathIndex.scanRoot(jar, packagePath);
+	final List<ClassFileHeader> fromClassFiles = ClassPathIndex.scanRoot(classesDir.toFile(), packagePath);
+	assertNotEquals(0, fromClassFiles.size());
+	assertEquals(toDescriptions(fromClassFiles), toDescriptions(fromIndex));
+    }
+
+    private static Map<String, String> toDescriptions(List<ClassFileHeader> headers) {
+	return headers.stream().collect(toMap(ClassFileHeader::getName, header -> header.isInterface() + " "
+		+ header.getSuperName() + " " + header.getInterfaces() + " " + header.getAnnotations()));
+    }
+
+    @Test
+    void testScanParallel() {
+	final ScanResult sequential = new CodebaseScannerFacade(MY_PACKAGE, RepositoryDetectionStrategies.ALL)
+		.setParallelScan(false).scan(getClass().getClassLoader());
+	final ScanResult parallel = new CodebaseScannerFacade(MY_PACKAGE, RepositoryDetectionStrategies.ALL)
+		.setParallelScan(true).scan(getClass().getClassLoader());
+	assertFalse(describe(sequential).isEmpty());
+	assertEquals(describe(sequential), describe(parallel));
+    }
+
 }
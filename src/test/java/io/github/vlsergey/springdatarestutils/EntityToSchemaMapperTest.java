@@ -11,7 +11,11 @@ import org.springframework.hateoas.UriTemplate;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import io.github.vlsergey.springdatarestutils.CodebaseScannerFacade.ScanResult;
 import io.github.vlsergey.springdatarestutils.projections.TestEntityDefaultProjection;
@@ -22,6 +26,14 @@ import org.yaml.snakeyaml.Yaml;
 
 class EntityToSchemaMapperTest {
 
+    enum EnumWithStaticInitializer {
+	ZERO, ONE, TWO;
+
+	static {
+	    System.setProperty(EnumWithStaticInitializer.class.getName(), "initialized");
+	}
+    }
+
     private static final ScanResult emptyScanResult = new ScanResult(emptyMap(), emptySet(), emptySet(), emptySet());
 
     private final TaskProperties taskProperties = new TaskProperties().setAddXLinkedEntity(true);
@@ -30,7 +42,8 @@ class EntityToSchemaMapperTest {
     private final EntityToSchemaMapper mapper = new EntityToSchemaMapper(
 	    (a, b, c) -> ClassToRefResolver.generateName(taskProperties, a, b, c),
 	    new CustomAnnotationsHelper(taskProperties), TestEntity.class::equals,
-	    new ProjectionHelper(emptyScanResult), emptyScanResult, taskProperties);
+	    new ProjectionHelper(emptyScanResult), emptyScanResult, new StandardSchemasProvider(taskProperties),
+	    taskProperties);
 
     @Test
     void testLink() throws Exception {
@@ -187,4 +200,21 @@ class EntityToSchemaMapperTest {
 	assertEquals(Arrays.asList("grandParent", "parent", "parentId", "id"), props);
     }
 
+    @Test
+    void testPropertyModelIsBuiltOncePerClass() {
+	final List<PropertyModel> properties = PropertyModel.of(TestEntityDefaultProjection.class);
+	assertSame(properties, PropertyModel.of(TestEntityDefaultProjection.class));
+	assertEquals(Arrays.asList("grandParent", "parent", "parentId", "id"),
+		properties.stream().map(PropertyModel::getName).collect(toList()));
+    }
+
+    @Test
+    void testEnumIsMappedWithoutInitialization() {
+	final Schema<?> schema = mapper.mapEntity(EnumWithStaticInitializer.class, ClassMappingMode.DATA_ITEM,
+		RequestType.RESPONSE);
+	assertEquals(Arrays.asList("ZERO", "ONE", "TWO"), schema.getEnum());
+	assertNull(System.getProperty(EnumWithStaticInitializer.class.getName()));
+	assertFalse(ReflectionUtils.isInitialized(EnumWithStaticInitializer.class).orElse(Boolean.FALSE));
+    }
+
 }
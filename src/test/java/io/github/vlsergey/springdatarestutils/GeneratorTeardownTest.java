@@ -0,0 +1,125 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.gradle.api.provider.Property;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeneratorTeardownTest {
+
+    /**
+     * Action with parameters that are not backed by Gradle services, to be
+     * instantiated inside separate classloader
+     */
+    public static class StubParametersAction extends ToOpenApiAction {
+
+	private final Parameters parameters;
+
+	public StubParametersAction(final String settings) {
+	    final Map<String, Object> values = new HashMap<>();
+	    values.put("getProjectDisplayName", GeneratorTeardownTest.class.getSimpleName());
+	    values.put("getProjectVersion", "0.0.1-SNAPSHOT");
+	    values.put("getSettings", settings);
+	    values.put("getSubmitTimeMillis", System.currentTimeMillis());
+
+	    this.parameters = (Parameters) Proxy.newProxyInstance(Parameters.class.getClassLoader(),
+		    new Class<?>[] { Parameters.class }, (proxy, method, args) -> {
+			if (!values.containsKey(method.getName())) {
+			    throw new UnsupportedOperationException(method.toString());
+			}
+			return property(values.get(method.getName()));
+		    });
+	}
+
+	private static Property<?> property(final Object value) {
+	    return (Property<?>) Proxy.newProxyInstance(Property.class.getClassLoader(),
+		    new Class<?>[] { Property.class }, (proxy, method, args) -> {
+			if (!method.getName().equals("get")) {
+			    throw new UnsupportedOperationException(method.toString());
+			}
+			return value;
+		    });
+	}
+
+	@Override
+	public Parameters getParameters() {
+	    return parameters;
+	}
+    }
+
+    private static final int GC_ATTEMPTS = 20;
+
+    private static final String MY_PACKAGE = "io.github.vlsergey.springdatarestutils";
+
+    /**
+     * Runs action in new classloader that contains both plugin and project
+     * classes, like Gradle worker classloader does
+     */
+    private static WeakReference<ClassLoader> executeInSeparateClassLoader(final File output) throws Exception {
+	final TaskProperties taskProperties = new TaskProperties().setBasePackage(MY_PACKAGE + ".example")
+		.setOutputUri(output.toURI().toString()).setParallelMapping(true).setParallelScan(true);
+	final String settings = new ObjectMapper().writeValueAsString(taskProperties);
+
+	final URL[] urls = ClassPathIndex.findRoots(GeneratorTeardownTest.class.getClassLoader(), null).stream()
+		.map(root -> {
+		    try {
+			return root.toURI().toURL();
+		    } catch (Exception exc) {
+			throw new AssertionError(exc);
+		    }
+		}).toArray(URL[]::new);
+
+	try (URLClassLoader classLoader = new URLClassLoader(urls, ClassLoader.getSystemClassLoader().getParent())) {
+	    final Class<?> actionClass = classLoader.loadClass(StubParametersAction.class.getName());
+	    assertSame(classLoader, actionClass.getClassLoader());
+
+	    final Object action = actionClass.getConstructor(String.class).newInstance(settings);
+	    actionClass.getMethod("execute").invoke(action);
+	    return new WeakReference<>(classLoader);
+	}
+    }
+
+    @Test
+    void testClassLoaderIsCollectableAfterExecute(@TempDir File dir) throws Exception {
+	final File output = new File(dir, "api.yaml");
+	final WeakReference<ClassLoader> classLoaderRef = executeInSeparateClassLoader(output);
+	assertTrue(output.isFile());
+
+	for (int i = 0; i < GC_ATTEMPTS && classLoaderRef.get() != null; i++) {
+	    System.gc();
+	    Thread.sleep(100);
+	}
+	assertNull(classLoaderRef.get(), "Classloader of generator is still reachable after execution");
+    }
+
+    @Test
+    void testReleaseRemovesClassValuesOfJdkClasses() {
+	final ReleasableClassValue<Object> classValue = new ReleasableClassValue<Object>() {
+	    @Override
+	    protected Object compute(Class<?> type) {
+		return new Object();
+	    }
+	};
+
+	final Object value = classValue.get(String.class);
+	assertSame(value, classValue.get(String.class));
+
+	classValue.release();
+	assertNotSame(value, classValue.get(String.class));
+    }
+
+}
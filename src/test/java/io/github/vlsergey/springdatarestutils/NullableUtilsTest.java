@@ -18,8 +18,9 @@ class NullableUtilsTest {
 
     private static Optional<Boolean> getNullable(final Class<?> beanClass, final String fieldName)
 	    throws IntrospectionException {
-	return NullableUtils.getNullable(Arrays.stream(Introspector.getBeanInfo(beanClass).getPropertyDescriptors())
-		.filter(x -> x.getName().equals(fieldName)).findAny().get());
+	return NullableUtils.getNullable(
+		PropertyAnnotations.of(Arrays.stream(Introspector.getBeanInfo(beanClass).getPropertyDescriptors())
+			.filter(x -> x.getName().equals(fieldName)).findAny().get()));
     }
 
     @Test
@@ -21,7 +21,7 @@ class PersistenceUtilsTest {
 	PropertyDescriptor groupIdPd = Arrays.stream(groupBeanInfo.getPropertyDescriptors())
 		.filter(pd -> pd.getName().equals("groupId")).findAny().get();
 
-	assertTrue(PersistenceUtils.isId(groupIdPd));
+	assertTrue(PersistenceUtils.isId(PropertyAnnotations.of(groupIdPd)));
     }
 
 }
@@ -0,0 +1,102 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import lombok.AllArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Checks that generation time and peak heap usage grow roughly linearly with
+ * number of entities. Excluded from regular test run, use
+ * {@code gradle scaleTest [-PscaleTest.entities=500,2000]}.
+ */
+@Tag("scale")
+class ScaleTest {
+
+    @AllArgsConstructor
+    @ToString
+    private static class Measurement {
+	private final int entities;
+	private final long heapBytes;
+	private final long millis;
+    }
+
+    private static final String MY_PACKAGE = "io.github.vlsergey.springdatarestutils";
+
+    private static final String SIZES_PROPERTY = "scaleTest.entities";
+
+    /**
+     * Allowed excess of growth ratio over ratio of domain sizes. Quadratic
+     * growth exceeds it already for 4x larger domain.
+     */
+    private static final double TOLERANCE = 2.0;
+
+    private static long heapUsed(final boolean peak) {
+	return ManagementFactory.getMemoryPoolMXBeans().stream().filter(pool -> pool.getType() == MemoryType.HEAP)
+		.mapToLong(pool -> (peak ? pool.getPeakUsage() : pool.getUsage()).getUsed()).sum();
+    }
+
+    private static Measurement generate(final int entities, final File dir) throws Exception {
+	final SyntheticDomainGenerator generator = SyntheticDomainGenerator.scaled(entities)
+		.setBasePackage(MY_PACKAGE + ".synthetic" + entities);
+
+	try (URLClassLoader classLoader = generator.compile(new File(dir, "domain" + entities))) {
+	    final TaskProperties taskProperties = new TaskProperties().setBasePackage(generator.getBasePackage())
+		    .setOutputUri(new File(dir, "spec" + entities + ".yaml").toURI().toString());
+	    final ToOpenApiActionImpl action = new ToOpenApiActionImpl(ScaleTest.class.getSimpleName(),
+		    "0.0.1-SNAPSHOT", new ObjectMapper().writeValueAsString(taskProperties));
+
+	    final Thread thread = Thread.currentThread();
+	    final ClassLoader prevClassLoader = thread.getContextClassLoader();
+	    thread.setContextClassLoader(classLoader);
+	    try {
+		System.gc();
+		final long heapBefore = heapUsed(false);
+		ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+
+		final long start = System.nanoTime();
+		action.executeWithinUrlClassLoader();
+		final long millis = (System.nanoTime() - start) / 1_000_000;
+
+		return new Measurement(entities, Math.max(1, heapUsed(true) - heapBefore), Math.max(1, millis));
+	    } finally {
+		thread.setContextClassLoader(prevClassLoader);
+	    }
+	}
+    }
+
+    @Test
+    void testGenerationGrowsLinearly(@TempDir File dir) throws Exception {
+	final int[] sizes = Arrays.stream(System.getProperty(SIZES_PROPERTY, "500,2000").split(","))
+		.mapToInt(Integer::parseInt).sorted().toArray();
+
+	// warm up JIT and static caches of plugin
+	generate(Math.max(1, sizes[0] / 5), dir);
+
+	final Measurement smallest = generate(sizes[0], dir);
+	final Measurement largest = generate(sizes[sizes.length - 1], dir);
+
+	final double sizeRatio = (double) largest.entities / smallest.entities;
+	final double timeRatio = (double) largest.millis / smallest.millis;
+	final double heapRatio = (double) largest.heapBytes / smallest.heapBytes;
+
+	assertTrue(timeRatio <= sizeRatio * TOLERANCE, "Generation time grows faster than linearly: " + smallest
+		+ " vs " + largest + ", time ratio " + timeRatio + " for size ratio " + sizeRatio);
+	assertTrue(heapRatio <= sizeRatio * TOLERANCE, "Peak heap usage grows faster than linearly: " + smallest
+		+ " vs " + largest + ", heap ratio " + heapRatio + " for size ratio " + sizeRatio);
+    }
+
+}
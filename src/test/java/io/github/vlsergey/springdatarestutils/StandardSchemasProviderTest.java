@@ -0,0 +1,65 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.swagger.v3.oas.models.media.Schema;
+
+class StandardSchemasProviderTest {
+
+    private static StandardSchemasProvider withTypeMappings(final String... keyValues) {
+	final Map<String, String> typeMappings = new LinkedHashMap<>();
+	for (int i = 0; i < keyValues.length; i += 2) {
+	    typeMappings.put(keyValues[i], keyValues[i + 1]);
+	}
+	return new StandardSchemasProvider(new TaskProperties().setTypeMappings(typeMappings));
+    }
+
+    @Test
+    void testStandardSchemas() {
+	final StandardSchemasProvider provider = new StandardSchemasProvider(new TaskProperties());
+
+	assertEquals("string", provider.getStandardSchemaSupplier(String.class).get().get().getType());
+	assertEquals("int64", provider.getStandardSchemaSupplier(long.class).get().get().getFormat());
+	assertFalse(provider.getStandardSchemaSupplier(LocalDate.class).isPresent());
+	assertSame(provider.getStandardSchemaSupplier(String.class), provider.getStandardSchemaSupplier(String.class));
+    }
+
+    @Test
+    void testTypeMappings() {
+	final StandardSchemasProvider provider = withTypeMappings( //
+		"java.math.BigDecimal", "number", //
+		"java.time.LocalDate", "string:date", //
+		"java.util.Date", "string:date-time", //
+		"byte[]", "string:byte", //
+		"java.lang.String", "string:password", //
+		"com.example.Missing", "string");
+
+	final Schema<?> bigDecimal = provider.getStandardSchemaSupplier(BigDecimal.class).get().get();
+	assertEquals("number", bigDecimal.getType());
+	assertNull(bigDecimal.getFormat());
+
+	final Schema<?> localDate = provider.getStandardSchemaSupplier(LocalDate.class).get().get();
+	assertEquals("string", localDate.getType());
+	assertEquals("date", localDate.getFormat());
+
+	assertEquals("date-time", provider.getStandardSchemaSupplier(Date.class).get().get().getFormat());
+	assertEquals("date-time", provider.getStandardSchemaSupplier(Timestamp.class).get().get().getFormat());
+	assertEquals("byte", provider.getStandardSchemaSupplier(byte[].class).get().get().getFormat());
+	assertEquals("password", provider.getStandardSchemaSupplier(String.class).get().get().getFormat());
+    }
+
+    @Test
+    void testTypeMappingsMalformed() {
+	assertThrows(IllegalArgumentException.class, () -> withTypeMappings("java.time.LocalDate", ":date"));
+    }
+
+}
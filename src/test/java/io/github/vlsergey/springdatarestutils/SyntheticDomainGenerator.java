@@ -0,0 +1,285 @@
+package io.github.vlsergey.springdatarestutils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static java.util.stream.Collectors.joining;
+
+import lombok.Data;
+import lombok.NonNull;
+
+/**
+ * Generates and compiles (in-process, via {@link JavaCompiler}) synthetic
+ * domain of configurable size: entities with columns, enums, embeddables and
+ * associations, inheritance trees, projections and repositories with query
+ * methods.
+ */
+@Data
+class SyntheticDomainGenerator {
+
+    private static final String[] COLUMN_TYPES = { "java.lang.String", "java.lang.Long", "java.lang.Integer",
+	    "boolean", "java.time.Instant", "java.util.UUID" };
+
+    /**
+     * Number of {@code @ManyToOne} associations of every entity
+     */
+    private int associations = 2;
+
+    private @NonNull String basePackage = "io.github.vlsergey.springdatarestutils.synthetic";
+
+    /**
+     * Number of simple columns of every entity
+     */
+    private int columns = 10;
+
+    private int embeddables = 5;
+
+    /**
+     * Number of entities with repositories (not including inheritance
+     * children)
+     */
+    private int entities = 100;
+
+    private int enums = 5;
+
+    /**
+     * Number of children of every inheritance root
+     */
+    private int inheritanceChildren = 2;
+
+    /**
+     * Number of entities that are inheritance roots
+     */
+    private int inheritanceTrees = 5;
+
+    /**
+     * Number of entities that have projection
+     */
+    private int projections = 10;
+
+    /**
+     * Number of query methods in every repository
+     */
+    private int queryMethods = 2;
+
+    /**
+     * @return generator with number of enums, embeddables, inheritance trees
+     *         and projections proportional to number of entities
+     */
+    static @NonNull SyntheticDomainGenerator scaled(final int entities) {
+	return new SyntheticDomainGenerator().setEntities(entities).setEmbeddables(Math.max(1, entities / 20))
+		.setEnums(Math.max(1, entities / 20)).setInheritanceTrees(entities / 20)
+		.setProjections(entities / 10);
+    }
+
+    private static void appendProperty(final @NonNull StringBuilder sb, final @NonNull String annotations,
+	    final @NonNull String type, final @NonNull String name) {
+	final String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+	sb.append("\n").append(annotations).append("    private ").append(type).append(" ").append(name).append(";\n");
+	sb.append("    public ").append(type).append(" ").append("boolean".equals(type) ? "is" : "get")
+		.append(capitalized).append("() { return ").append(name).append("; }\n");
+	sb.append("    public void set").append(capitalized).append("(").append(type).append(" value) { this.")
+		.append(name).append(" = value; }\n");
+    }
+
+    private static @NonNull String columnType(final int column) {
+	return COLUMN_TYPES[column % COLUMN_TYPES.length];
+    }
+
+    /**
+     * Compiles sources into {@code classes} subdirectory of specified
+     * directory
+     *
+     * @param sources sources by names of classes
+     * @return class loader to load compiled classes, with current class loader
+     *         as parent
+     */
+    static @NonNull URLClassLoader compile(final @NonNull File dir, final @NonNull Map<String, String> sources)
+	    throws IOException {
+	final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+	if (compiler == null) {
+	    throw new IllegalStateException("Java compiler is not available, JDK is required");
+	}
+
+	final File sourcesDir = new File(dir, "sources");
+	final File classesDir = new File(dir, "classes");
+	classesDir.mkdirs();
+
+	final List<File> sourceFiles = new ArrayList<>();
+	for (Map.Entry<String, String> source : sources.entrySet()) {
+	    final File file = new File(sourcesDir, source.getKey().replace('.', File.separatorChar) + ".java");
+	    file.getParentFile().mkdirs();
+	    Files.write(file.toPath(), source.getValue().getBytes(StandardCharsets.UTF_8));
+	    sourceFiles.add(file);
+	}
+
+	final ClassLoader parent = SyntheticDomainGenerator.class.getClassLoader();
+	final String classpath = ClassPathIndex.findRoots(parent, null).stream().map(File::getPath)
+		.collect(joining(File.pathSeparator));
+
+	final StringWriter output = new StringWriter();
+	try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null,
+		StandardCharsets.UTF_8)) {
+	    final Iterable<? extends JavaFileObject> compilationUnits = fileManager
+		    .getJavaFileObjectsFromFiles(sourceFiles);
+	    final boolean success = compiler.getTask(output, fileManager, null, Arrays.asList("-classpath", classpath,
+		    "-d", classesDir.getPath(), "-parameters", "-proc:none", "-nowarn"), null, compilationUnits).call();
+	    if (!success) {
+		throw new IllegalStateException("Unable to compile synthetic domain: " + output);
+	    }
+	}
+
+	return new URLClassLoader(new URL[] { classesDir.toURI().toURL() }, parent);
+    }
+
+    /**
+     * Generates sources and compiles them into {@code classes} subdirectory of
+     * specified directory
+     *
+     * @return class loader to load generated classes, with current class
+     *         loader as parent
+     */
+    @NonNull
+    URLClassLoader compile(final @NonNull File dir) throws IOException {
+	return compile(dir, generateSources());
+    }
+
+    private @NonNull String generateEmbeddable(final int index) {
+	final StringBuilder sb = new StringBuilder();
+	sb.append("package ").append(basePackage).append(";\n\n");
+	sb.append("@javax.persistence.Embeddable\n");
+	sb.append("public class Embeddable").append(index).append(" {\n");
+	appendProperty(sb, "", "java.lang.String", "line");
+	appendProperty(sb, "", "java.lang.Integer", "number");
+	sb.append("}\n");
+	return sb.toString();
+    }
+
+    private @NonNull String generateEntity(final int index) {
+	final boolean inheritanceRoot = index < inheritanceTrees;
+
+	final StringBuilder sb = new StringBuilder();
+	sb.append("package ").append(basePackage).append(";\n\n");
+	sb.append("@javax.persistence.Entity\n");
+	if (inheritanceRoot) {
+	    sb.append("@javax.persistence.Inheritance(strategy = javax.persistence.InheritanceType.SINGLE_TABLE)\n");
+	    sb.append("@javax.persistence.DiscriminatorColumn(name = \"kind\")\n");
+	}
+	sb.append("public class Entity").append(index).append(" {\n");
+
+	appendProperty(sb, "    @javax.persistence.Id\n    @javax.persistence.GeneratedValue\n", "java.lang.Long",
+		"id");
+	if (inheritanceRoot) {
+	    appendProperty(sb,
+		    "    @javax.persistence.Column(name = \"kind\", insertable = false, updatable = false)\n",
+		    "java.lang.String", "kind");
+	}
+	for (int column = 0; column < columns; column++) {
+	    appendProperty(sb, "", columnType(column), "column" + column);
+	}
+	if (enums > 0) {
+	    appendProperty(sb, "    @javax.persistence.Enumerated(javax.persistence.EnumType.STRING)\n",
+		    basePackage + ".Enum" + (index % enums), "status");
+	}
+	if (embeddables > 0) {
+	    appendProperty(sb, "    @javax.persistence.Embedded\n", basePackage + ".Embeddable" + (index % embeddables),
+		    "details");
+	}
+	for (int association = 0; association < associations; association++) {
+	    appendProperty(sb, "    @javax.persistence.ManyToOne\n",
+		    basePackage + ".Entity" + ((index + association + 1) % entities), "association" + association);
+	}
+
+	sb.append("}\n");
+	return sb.toString();
+    }
+
+    private @NonNull String generateEntityChild(final int rootIndex, final int childIndex) {
+	final StringBuilder sb = new StringBuilder();
+	sb.append("package ").append(basePackage).append(";\n\n");
+	sb.append("@javax.persistence.Entity\n");
+	sb.append("@javax.persistence.DiscriminatorValue(\"child").append(childIndex).append("\")\n");
+	sb.append("public class Entity").append(rootIndex).append("Child").append(childIndex).append(" extends Entity")
+		.append(rootIndex).append(" {\n");
+	appendProperty(sb, "", "java.lang.String", "childColumn" + childIndex);
+	sb.append("}\n");
+	return sb.toString();
+    }
+
+    private @NonNull String generateEnum(final int index) {
+	return "package " + basePackage + ";\n\npublic enum Enum" + index + " { FIRST, SECOND, THIRD }\n";
+    }
+
+    private @NonNull String generateProjection(final int index) {
+	final StringBuilder sb = new StringBuilder();
+	sb.append("package ").append(basePackage).append(";\n\n");
+	sb.append("@org.springframework.data.rest.core.config.Projection(name = \"summary\", types = Entity")
+		.append(index).append(".class)\n");
+	sb.append("public interface Entity").append(index).append("Summary {\n");
+	sb.append("    java.lang.Long getId();\n");
+	if (columns > 0) {
+	    sb.append("    ").append(columnType(0)).append(" getColumn0();\n");
+	}
+	sb.append("}\n");
+	return sb.toString();
+    }
+
+    private @NonNull String generateRepository(final int index) {
+	final String entity = "Entity" + index;
+
+	final StringBuilder sb = new StringBuilder();
+	sb.append("package ").append(basePackage).append(";\n\n");
+	sb.append("public interface ").append(entity).append("Repository extends ")
+		.append("org.springframework.data.jpa.repository.JpaRepository<").append(entity)
+		.append(", java.lang.Long> {\n");
+	for (int query = 0; query < queryMethods && query < columns; query++) {
+	    sb.append("    java.util.List<").append(entity).append("> findByColumn").append(query).append("(")
+		    .append(columnType(query)).append(" column").append(query).append(");\n");
+	}
+	sb.append("}\n");
+	return sb.toString();
+    }
+
+    /**
+     * @return sources of domain classes, mapped by class name
+     */
+    @NonNull
+    Map<String, String> generateSources() {
+	final Map<String, String> result = new LinkedHashMap<>();
+	for (int i = 0; i < enums; i++) {
+	    result.put(basePackage + ".Enum" + i, generateEnum(i));
+	}
+	for (int i = 0; i < embeddables; i++) {
+	    result.put(basePackage + ".Embeddable" + i, generateEmbeddable(i));
+	}
+	for (int i = 0; i < entities; i++) {
+	    result.put(basePackage + ".Entity" + i, generateEntity(i));
+	    result.put(basePackage + ".Entity" + i + "Repository", generateRepository(i));
+	}
+	for (int i = 0; i < Math.min(inheritanceTrees, entities); i++) {
+	    for (int child = 0; child < inheritanceChildren; child++) {
+		result.put(basePackage + ".Entity" + i + "Child" + child, generateEntityChild(i, child));
+	    }
+	}
+	for (int i = 0; i < Math.min(projections, entities); i++) {
+	    result.put(basePackage + ".Entity" + i + "Summary", generateProjection(i));
+	}
+	return result;
+    }
+
+}
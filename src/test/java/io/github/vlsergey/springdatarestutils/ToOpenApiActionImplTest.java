@@ -3,14 +3,19 @@ package io.github.vlsergey.springdatarestutils;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.openapi4j.core.exception.ResolutionException;
@@ -23,11 +28,15 @@ import org.openapi4j.parser.validation.v3.OpenApi3Validator;
 import org.springframework.security.access.annotation.Secured;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.io.Resources;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.github.vlsergey.springdatarestutils.IncrementalState.ComponentState;
 import io.github.vlsergey.springdatarestutils.example.SingleLine;
 import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.Yaml;
@@ -99,6 +108,212 @@ class ToOpenApiActionImplTest {
 	});
     }
 
+    @ParameterizedTest
+    @CsvSource({ "example", "inheritance", "projections" })
+    void testParallelMappingIsDeterministic(String code) throws Exception {
+	withTempFile(sequentialFile -> withTempFile(parallelFile -> {
+	    taskProperties.setParallelMapping(false);
+	    generate(MY_PACKAGE + "." + code, sequentialFile);
+
+	    taskProperties.setParallelMapping(true);
+	    generate(MY_PACKAGE + "." + code, parallelFile);
+
+	    Assertions.assertArrayEquals(Files.readAllBytes(sequentialFile.toPath()),
+		    Files.readAllBytes(parallelFile.toPath()));
+	}));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "example,", "example,Student", "inheritance,ChildA", "inheritance,BaseEntity" })
+    void testIncrementalRegeneration(String code, String changedClass, @TempDir File stateDir) throws Exception {
+	withTempFile(fullFile -> withTempFile(incrementalFile -> {
+	    generate(MY_PACKAGE + "." + code, fullFile);
+
+	    final File stateFile = new File(stateDir, "state.json");
+	    taskProperties.setIncrementalStateUri(stateFile.toURI().toString());
+	    generate(MY_PACKAGE + "." + code, incrementalFile);
+
+	    final String changedClassName = changedClass == null ? null : MY_PACKAGE + "." + code + "." + changedClass;
+	    taskProperties.setChangedClasses(changedClassName == null ? emptyList() : singletonList(changedClassName));
+	    generate(MY_PACKAGE + "." + code, incrementalFile);
+
+	    Assertions.assertArrayEquals(Files.readAllBytes(fullFile.toPath()),
+		    Files.readAllBytes(incrementalFile.toPath()));
+
+	    // only components built from changed class are remapped, all other
+	    // ones are taken from previous output
+	    final List<ComponentState> components = IncrementalState.read(stateFile).get().getComponents();
+	    assertTrue(!components.isEmpty());
+	    for (ComponentState component : components) {
+		Assertions.assertEquals(
+			changedClassName == null || !component.getDependencies().contains(changedClassName),
+			component.isReused(), component.getName());
+	    }
+	}));
+    }
+
+    private static String entitySource(final String basePackage, final String name, final String... properties) {
+	final StringBuilder sb = new StringBuilder();
+	sb.append("package ").append(basePackage).append(";\n\n");
+	sb.append("@javax.persistence.Entity\n");
+	sb.append("public class ").append(name).append(" {\n");
+	sb.append("    @javax.persistence.Id\n");
+	sb.append("    private Long id;\n");
+	sb.append("    public Long getId() { return id; }\n");
+	sb.append("    public void setId(Long value) { this.id = value; }\n");
+	for (String property : properties) {
+	    // like "@javax.persistence.ManyToOne Author author"
+	    final String[] parts = property.split(" ");
+	    final String type = parts[parts.length - 2];
+	    final String propertyName = parts[parts.length - 1];
+	    final String capitalized = Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+	    sb.append("    ").append(property).append(";\n");
+	    sb.append("    public ").append(type).append(" get").append(capitalized).append("() { return ")
+		    .append(propertyName).append("; }\n");
+	    sb.append("    public void set").append(capitalized).append("(").append(type).append(" value) { this.")
+		    .append(propertyName).append(" = value; }\n");
+	}
+	sb.append("}\n");
+	return sb.toString();
+    }
+
+    /**
+     * Sources of author, book and publisher entities (and their
+     * repositories). Second version of author has additional property.
+     */
+    private static Map<String, String> modifiedDomainSources(final String basePackage, final int version) {
+	final Map<String, String> sources = new LinkedHashMap<>();
+	sources.put(basePackage + ".Author", version == 1 ? entitySource(basePackage, "Author", "private String name")
+		: entitySource(basePackage, "Author", "private String name", "private String email"));
+	sources.put(basePackage + ".Book", entitySource(basePackage, "Book",
+		"@javax.persistence.ManyToOne private Author author", "private String title"));
+	sources.put(basePackage + ".Publisher", entitySource(basePackage, "Publisher", "private String name"));
+	for (String entity : Arrays.asList("Author", "Book", "Publisher")) {
+	    sources.put(basePackage + "." + entity + "Repo", "package " + basePackage + ";\n\n" //
+		    + "public interface " + entity + "Repo extends "
+		    + "org.springframework.data.jpa.repository.JpaRepository<" + entity + ", Long> {}\n");
+	}
+	return sources;
+    }
+
+    private void generateWithContextClassLoader(final ClassLoader classLoader, final String basePackage,
+	    final File dst) throws Exception {
+	final Thread thread = Thread.currentThread();
+	final ClassLoader prevClassLoader = thread.getContextClassLoader();
+	thread.setContextClassLoader(classLoader);
+	try {
+	    generate(basePackage, dst);
+	} finally {
+	    thread.setContextClassLoader(prevClassLoader);
+	}
+    }
+
+    @Test
+    void testIncrementalRegenerationOfModifiedClass(@TempDir File dir) throws Exception {
+	final String basePackage = MY_PACKAGE + ".modified";
+	final String changedClassName = basePackage + ".Author";
+	final File fullFile = new File(dir, "full.yaml");
+	final File incrementalFile = new File(dir, "incremental.yaml");
+	final File stateFile = new File(dir, "state.json");
+
+	try (URLClassLoader version1 = SyntheticDomainGenerator.compile(new File(dir, "version1"),
+		modifiedDomainSources(basePackage, 1));
+		URLClassLoader version2 = SyntheticDomainGenerator.compile(new File(dir, "version2"),
+			modifiedDomainSources(basePackage, 2))) {
+	    generateWithContextClassLoader(version2, basePackage, fullFile);
+
+	    taskProperties.setIncrementalStateUri(stateFile.toURI().toString());
+	    generateWithContextClassLoader(version1, basePackage, incrementalFile);
+	    assertTrue(!new String(Files.readAllBytes(incrementalFile.toPath()), StandardCharsets.UTF_8)
+		    .contains("email"));
+
+	    taskProperties.setChangedClasses(singletonList(changedClassName));
+	    generateWithContextClassLoader(version2, basePackage, incrementalFile);
+	}
+
+	assertTrue(new String(Files.readAllBytes(fullFile.toPath()), StandardCharsets.UTF_8).contains("email"));
+	Assertions.assertArrayEquals(Files.readAllBytes(fullFile.toPath()),
+		Files.readAllBytes(incrementalFile.toPath()));
+
+	final List<ComponentState> components = IncrementalState.read(stateFile).get().getComponents();
+	assertTrue(components.stream().anyMatch(component -> component.isReused()
+		&& component.getKey().getClassName().equals(basePackage + ".Publisher")));
+	for (ComponentState component : components) {
+	    Assertions.assertEquals(!component.getDependencies().contains(changedClassName), component.isReused(),
+		    component.getName());
+	}
+    }
+
+    @Test
+    void testReportIsWritten(@TempDir File reportDir) throws Exception {
+	final File reportFile = new File(reportDir, "api.report.json");
+	taskProperties.setReportUri(reportFile.toURI().toString());
+
+	withTempFile(tempFile -> generate(MY_PACKAGE + ".example", tempFile));
+
+	final JsonNode report = new ObjectMapper().readTree(reportFile);
+	final List<String> phases = new ArrayList<>();
+	report.path("phases").forEach(phase -> phases.add(phase.path("name").asText()));
+	Assertions.assertEquals(Arrays.asList("classPathIndex", "repositories", "projections", "inheritance",
+		"queryMethodsCandidates", "paths", "schemas", "sorting", "serialization"), phases);
+	final List<String> summedPhases = new ArrayList<>();
+	report.path("phaseMillisSummedAcrossSpecs").fieldNames().forEachRemaining(summedPhases::add);
+	Assertions.assertEquals(phases, summedPhases);
+	report.path("phases").forEach(phase -> assertTrue(
+		report.path("totalMillis").asLong() >= phase.path("millis").asLong(), phase.path("name").asText()));
+	assertTrue(report.path("phases").get(0).path("items").asLong() > 0);
+	assertTrue(report.path("slowestEntities").size() > 0);
+    }
+
+    @Test
+    void testSpecsAreGeneratedFromSharedScan(@TempDir File dir) throws Exception {
+	final File example = new File(dir, "example.yaml");
+	final File exampleJson = new File(dir, "example.json");
+	final File exampleWithClassNames = new File(dir, "example-internal.yaml");
+	final File inheritance = new File(dir, "inheritance.yaml");
+	generate(MY_PACKAGE + ".example", example);
+	generate(MY_PACKAGE + ".example", exampleJson);
+	generate(MY_PACKAGE + ".inheritance", inheritance);
+	taskProperties.setAddXJavaClassName(true);
+	generate(MY_PACKAGE + ".example", exampleWithClassNames);
+	taskProperties.setAddXJavaClassName(false);
+
+	final Map<String, TaskProperties> specs = new LinkedHashMap<>();
+	specs.put("inheritance", new TaskProperties().setBasePackage(MY_PACKAGE + ".inheritance")
+		.setOutputUri(new File(dir, "shared-inheritance.yaml").toURI().toString()));
+	specs.put("internal", new TaskProperties().setAddXJavaClassName(true).setBasePackage(MY_PACKAGE + ".example")
+		.setOutputUri(new File(dir, "shared-example-internal.yaml").toURI().toString()));
+	specs.put("json", new TaskProperties().setBasePackage(MY_PACKAGE + ".example")
+		.setOutputUri(new File(dir, "shared-example.json").toURI().toString()));
+	taskProperties.setSpecs(specs);
+	generate(MY_PACKAGE + ".example", new File(dir, "shared-example.yaml"));
+
+	for (File separate : Arrays.asList(example, exampleJson, exampleWithClassNames, inheritance)) {
+	    Assertions.assertArrayEquals(Files.readAllBytes(separate.toPath()),
+		    Files.readAllBytes(new File(dir, "shared-" + separate.getName()).toPath()), separate.getName());
+	}
+    }
+
+    @Test
+    void testUnchangedOutputIsNotRewritten() throws Exception {
+	withTempFile(tempFile -> {
+	    generate(MY_PACKAGE + ".example", tempFile);
+	    final byte[] content = Files.readAllBytes(tempFile.toPath());
+
+	    final long lastModified = 1_000_000_000_000L;
+	    assertTrue(tempFile.setLastModified(lastModified));
+
+	    generate(MY_PACKAGE + ".example", tempFile);
+	    Assertions.assertEquals(lastModified, tempFile.lastModified());
+	    Assertions.assertArrayEquals(content, Files.readAllBytes(tempFile.toPath()));
+
+	    taskProperties.setLinkTypeName("OtherLink");
+	    generate(MY_PACKAGE + ".example", tempFile);
+	    Assertions.assertNotEquals(lastModified, tempFile.lastModified());
+	    Assertions.assertFalse(Arrays.equals(content, Files.readAllBytes(tempFile.toPath())));
+	});
+    }
+
     @FunctionalInterface
     interface FailableConsumer<O> {
 	void accept(O object) throws Exception;
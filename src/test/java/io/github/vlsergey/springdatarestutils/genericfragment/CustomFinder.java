@@ -0,0 +1,13 @@
+package io.github.vlsergey.springdatarestutils.genericfragment;
+
+import java.util.List;
+
+/**
+ * Generic repository fragment. Implementation binds type parameter, thus
+ * erased signature is implemented by compiler-generated bridge method only.
+ */
+public interface CustomFinder<T> {
+
+    List<T> findSpecial(T example);
+
+}
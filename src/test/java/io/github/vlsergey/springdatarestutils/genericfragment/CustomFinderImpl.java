@@ -0,0 +1,14 @@
+package io.github.vlsergey.springdatarestutils.genericfragment;
+
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+public class CustomFinderImpl implements CustomFinder<TestEntity> {
+
+    @Override
+    public List<TestEntity> findSpecial(final TestEntity example) {
+	return singletonList(example);
+    }
+
+}
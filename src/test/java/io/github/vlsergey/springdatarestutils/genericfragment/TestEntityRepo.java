@@ -0,0 +1,12 @@
+package io.github.vlsergey.springdatarestutils.genericfragment;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TestEntityRepo extends JpaRepository<TestEntity, UUID>, CustomFinder<TestEntity> {
+
+    List<TestEntity> findByName(String name);
+
+}